@@ -0,0 +1,175 @@
+package com.hotelhub.cache;
+
+import com.hotelhub.service.HotelChangedEvent;
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.configuration.AgroalConnectionFactoryConfiguration;
+import io.agroal.api.security.AgroalSecurityProvider;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Broadcasts hotel cache evictions to the other replicas through PostgreSQL LISTEN/NOTIFY.
+ * The notification is issued inside the transaction that changed the hotel, and PostgreSQL
+ * only delivers it once that transaction commits (and never if it rolls back). Every replica
+ * listens on a dedicated connection outside the pool, opened with the pool's JDBC URL,
+ * properties and credentials, and evicts the hotel through
+ * {@link HotelCacheCoordinator}; notifications from this replica are skipped because the
+ * coordinator has already evicted locally. After the listening connection is lost, all caches
+ * are cleared on reconnect since notifications sent in between are gone.
+ */
+@ApplicationScoped
+public class ClusterCacheInvalidation {
+
+    static final String CHANNEL = "hotel_cache_invalidation";
+    static final String ALL_HOTELS = "*";
+
+    private static final Logger LOG = Logger.getLogger(ClusterCacheInvalidation.class);
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelCacheCoordinator cacheCoordinator;
+
+    @ConfigProperty(name = "hotel.cache.cluster-invalidation.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.cache.cluster-invalidation.reconnect-delay", defaultValue = "PT5S")
+    Duration reconnectDelay;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Queue the notification in the writing transaction, so it is sent on commit only.
+     */
+    void onHotelChanged(@Observes HotelChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String target = event.hotelId == null ? ALL_HOTELS : event.hotelId.toString();
+        entityManager.createNativeQuery("SELECT CAST(pg_notify(:channel, :payload) AS TEXT)")
+                .setParameter("channel", CHANNEL)
+                .setParameter("payload", nodeId + ":" + target)
+                .getSingleResult();
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    LOG.info("Cache invalidation channel reconnected, clearing local caches");
+                    cacheCoordinator.evictAll();
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                LOG.warnf("Cache invalidation channel lost, retrying in %s: %s", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a connection the way the pool's connection factory does: same URL, same JDBC
+     * properties (SSL and other driver options) and the credentials of its security providers.
+     */
+    private Connection openConnection() throws SQLException {
+        AgroalConnectionFactoryConfiguration factory = dataSource.getConfiguration()
+                .connectionPoolConfiguration()
+                .connectionFactoryConfiguration();
+        Properties properties = new Properties();
+        properties.putAll(factory.jdbcProperties());
+        List<Object> credentials = new ArrayList<>(factory.credentials());
+        if (factory.principal() != null) {
+            credentials.add(0, factory.principal());
+        }
+        for (Object credential : credentials) {
+            for (AgroalSecurityProvider provider : factory.securityProviders()) {
+                Properties securityProperties = provider.getSecurityProperties(credential);
+                if (securityProperties != null) {
+                    properties.putAll(securityProperties);
+                    break;
+                }
+            }
+        }
+        return DriverManager.getConnection(factory.jdbcUrl(), properties);
+    }
+
+    void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String target = payload.substring(separator + 1);
+        try {
+            if (ALL_HOTELS.equals(target)) {
+                cacheCoordinator.evictAll();
+            } else {
+                cacheCoordinator.evict(Long.valueOf(target));
+            }
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to apply cache invalidation %s", payload);
+        }
+    }
+}
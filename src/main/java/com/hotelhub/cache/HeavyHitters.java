@@ -0,0 +1,95 @@
+package com.hotelhub.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving sketch of the most frequent hotel IDs in bounded memory. While fewer than
+ * {@code capacity} IDs are tracked every hit is counted exactly; after that a new ID replaces
+ * the least counted one and inherits its count, so any ID seen more than
+ * {@code total / capacity} times is guaranteed to be kept, with its count overestimated by at
+ * most the count it inherited.
+ */
+public class HeavyHitters {
+
+    private static final class Counter {
+        final long id;
+        long count;
+
+        Counter(long id, long count) {
+            this.id = id;
+            this.count = count;
+        }
+    }
+
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.<Counter>comparingLong(c -> c.count).thenComparingLong(c -> c.id);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void offer(long id) {
+        offer(id, 1);
+    }
+
+    /**
+     * Count {@code count} hits at once, e.g. to put back counts drained before.
+     */
+    public synchronized void offer(long id, long count) {
+        Counter counter = counters.get(id);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(id, 0);
+            } else {
+                Counter min = ordered.pollFirst();
+                counters.remove(min.id);
+                counter = new Counter(id, min.count);
+            }
+            counters.put(id, counter);
+        } else {
+            ordered.remove(counter);
+        }
+        counter.count += count;
+        ordered.add(counter);
+    }
+
+    /**
+     * Tracked IDs and their counts, most frequent first.
+     */
+    public synchronized List<Map.Entry<Long, Long>> top(int n) {
+        List<Map.Entry<Long, Long>> result = new ArrayList<>(Math.min(n, ordered.size()));
+        for (Counter counter : ordered.descendingSet()) {
+            if (result.size() == n) {
+                break;
+            }
+            result.add(Map.entry(counter.id, counter.count));
+        }
+        return result;
+    }
+
+    /**
+     * All tracked counts, most frequent first, leaving the sketch empty.
+     */
+    public synchronized List<Map.Entry<Long, Long>> drain() {
+        List<Map.Entry<Long, Long>> result = top(counters.size());
+        counters.clear();
+        ordered.clear();
+        return result;
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+}
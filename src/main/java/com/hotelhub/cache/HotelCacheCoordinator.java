@@ -0,0 +1,139 @@
+package com.hotelhub.cache;
+
+import com.hotelhub.service.HotelChangedEvent;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Evicts a hotel's entries from every per-hotel cache once a change to it has committed.
+ * Evicting after commit rather than in an interceptor around the write means a concurrent
+ * read can never cache the pre-commit state again. Caches keyed by hotel ID alone are
+ * invalidated by key; the review and translation caches, whose keys also carry paging or
+ * language arguments, are scanned for composite keys starting with the hotel ID. The off-heap
+ * tier behind {@code hotel-by-id}, the serialized response bodies and the hotel's content
+ * version are evicted as well, after the hotel's in-flight loads are forgotten. Hot hotels
+ * are then reloaded in the background by {@link HotelCacheWarmer}.
+ */
+@ApplicationScoped
+public class HotelCacheCoordinator {
+
+    private static final Logger LOG = Logger.getLogger(HotelCacheCoordinator.class);
+
+    @Inject
+    @CacheName("hotel-by-id")
+    Cache hotelById;
+
+    @Inject
+    @CacheName("hotel-photos")
+    Cache hotelPhotos;
+
+    @Inject
+    @CacheName("hotel-facilities")
+    Cache hotelFacilities;
+
+    @Inject
+    @CacheName("hotel-rooms")
+    Cache hotelRooms;
+
+    @Inject
+    @CacheName("hotel-reviews")
+    Cache hotelReviews;
+
+    @Inject
+    @CacheName("hotel-translations")
+    Cache hotelTranslations;
+
+    @Inject
+    @CacheName("hotel-statistics")
+    Cache hotelStatistics;
+
+    @Inject
+    @CacheName("hotel-versions")
+    Cache hotelVersions;
+
+    @Inject
+    HotelDetailOffHeapCache hotelDetailOffHeap;
+
+    @Inject
+    ResponseBodyCache responseBodyCache;
+
+    @Inject
+    HotelCacheWarmer cacheWarmer;
+
+    @Inject
+    HotelReadCoalescer readCoalescer;
+
+    void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangedEvent event) {
+        try {
+            if (event.hotelId == null) {
+                evictAll();
+            } else {
+                evict(event.hotelId);
+            }
+        } catch (Exception e) {
+            // Entries still expire by TTL
+            LOG.warnf(e, "Failed to evict cached entries for hotel %s", event.hotelId);
+        }
+    }
+
+    public void evict(Long hotelId) {
+        evictContent(hotelId);
+        hotelStatistics.invalidateAll().await().indefinitely();
+        responseBodyCache.evict(hotelId);
+        // Last, so a version that is still cached is never newer than the cached content;
+        // a version loaded on a miss clears the content itself, see HotelVersions
+        hotelVersions.invalidate(hotelId).await().indefinitely();
+        cacheWarmer.onEvicted(hotelId);
+    }
+
+    /**
+     * Evict the hotel's entries from the content caches only: the in-flight loads, the off-heap
+     * tier and the per-hotel caches, but not its response bodies, version or hot-hotel refresh.
+     */
+    void evictContent(Long hotelId) {
+        // Loads started before the change must not be shared with requests from here on
+        readCoalescer.forget(hotelId);
+        // Lower tier first, so a concurrent near-cache miss cannot reload the stale copy
+        hotelDetailOffHeap.evict(hotelId);
+        for (Cache cache : List.of(hotelById, hotelPhotos, hotelFacilities, hotelRooms)) {
+            cache.invalidate(hotelId).await().indefinitely();
+        }
+        for (Cache cache : List.of(hotelReviews, hotelTranslations)) {
+            cache.invalidateIf(key -> isKeyOf(key, hotelId)).await().indefinitely();
+        }
+    }
+
+    public void evictAll() {
+        readCoalescer.forgetAll();
+        hotelDetailOffHeap.evictAll();
+        for (Cache cache : List.of(hotelById, hotelPhotos, hotelFacilities, hotelRooms,
+                hotelReviews, hotelTranslations, hotelStatistics)) {
+            cache.invalidateAll().await().indefinitely();
+        }
+        responseBodyCache.evictAll();
+        hotelVersions.invalidateAll().await().indefinitely();
+        cacheWarmer.onEvictedAll();
+    }
+
+    /**
+     * Whether a cache key belongs to the hotel: either the hotel ID itself or a composite key
+     * whose first element is the hotel ID, as built by {@code @CacheResult} for methods taking
+     * the hotel ID first.
+     */
+    static boolean isKeyOf(Object key, Long hotelId) {
+        if (key instanceof CompositeCacheKey composite) {
+            Object[] elements = composite.getKeyElements();
+            return elements.length > 0 && Objects.equals(elements[0], hotelId);
+        }
+        return Objects.equals(key, hotelId);
+    }
+}
@@ -0,0 +1,325 @@
+package com.hotelhub.cache;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.dto.HotelVersionDto;
+import com.hotelhub.repository.HotelAccessCountRepository;
+import com.hotelhub.repository.HotelDetailRepository;
+import com.hotelhub.repository.HotelFacilityRepository;
+import com.hotelhub.repository.HotelPhotoRepository;
+import com.hotelhub.repository.HotelRepository;
+import com.hotelhub.repository.HotelReviewRepository;
+import com.hotelhub.repository.HotelRoomRepository;
+import com.hotelhub.repository.HotelTranslationRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most requested hotels in the per-hotel caches. Requests are counted in local
+ * {@link StripedHeavyHitters} sketches that are flushed periodically into {@code hotel_access_counts},
+ * shared by all replicas. On startup the top hotels from that table are loaded into the caches
+ * before the readiness check reports UP. From then on they are reloaded in the background
+ * every refresh interval, which is shorter than the cache TTLs, and right after they are
+ * evicted by a change, so requests for hot hotels do not wait for the database.
+ *
+ * <p>A reload reads the hotel's content version before and after loading; if it changed in
+ * between, a concurrent change may have been evicted before the reloaded values were put, so
+ * the hotel is evicted again.
+ */
+@ApplicationScoped
+public class HotelCacheWarmer {
+
+    // Default arguments of the review and translation endpoints
+    private static final int REVIEW_PAGE_SIZE = 10;
+
+    private static final Logger LOG = Logger.getLogger(HotelCacheWarmer.class);
+
+    @Inject
+    HotelAccessCountRepository accessCountRepository;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelDetailRepository hotelDetailRepository;
+
+    @Inject
+    HotelPhotoRepository hotelPhotoRepository;
+
+    @Inject
+    HotelFacilityRepository hotelFacilityRepository;
+
+    @Inject
+    HotelReviewRepository hotelReviewRepository;
+
+    @Inject
+    HotelTranslationRepository hotelTranslationRepository;
+
+    @Inject
+    HotelRoomRepository hotelRoomRepository;
+
+    @Inject
+    HotelDetailOffHeapCache hotelDetailOffHeap;
+
+    @Inject
+    HotelVersions hotelVersions;
+
+    @Inject
+    HotelCacheCoordinator cacheCoordinator;
+
+    @Inject
+    @CacheName("hotel-by-id")
+    Cache hotelById;
+
+    @Inject
+    @CacheName("hotel-photos")
+    Cache hotelPhotos;
+
+    @Inject
+    @CacheName("hotel-facilities")
+    Cache hotelFacilities;
+
+    @Inject
+    @CacheName("hotel-reviews")
+    Cache hotelReviews;
+
+    @Inject
+    @CacheName("hotel-translations")
+    Cache hotelTranslations;
+
+    @Inject
+    @CacheName("hotel-rooms")
+    Cache hotelRooms;
+
+    @ConfigProperty(name = "hotel.cache.warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.cache.warmup.top-n", defaultValue = "500")
+    int topN;
+
+    @ConfigProperty(name = "hotel.cache.warmup.sketch-capacity", defaultValue = "2000")
+    int sketchCapacity;
+
+    @ConfigProperty(name = "hotel.cache.warmup.flush-interval", defaultValue = "PT1M")
+    Duration flushInterval;
+
+    @ConfigProperty(name = "hotel.cache.warmup.refresh-interval", defaultValue = "PT1H")
+    Duration refreshInterval;
+
+    @ConfigProperty(name = "hotel.cache.warmup.half-life", defaultValue = "PT24H")
+    Duration halfLife;
+
+    private volatile StripedHeavyHitters sketch;
+    private volatile Set<Long> hotHotelIds = Set.of();
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private volatile boolean warm;
+    private ScheduledExecutorService executor;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            warm = true;
+            return;
+        }
+        if (!(hotelById instanceof CaffeineCache)) {
+            LOG.info("Caching is disabled, skipping cache warm-up");
+            warm = true;
+            return;
+        }
+        sketch = new StripedHeavyHitters(2 * Runtime.getRuntime().availableProcessors(), sketchCapacity);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hotel-cache-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::warmUp);
+        executor.scheduleWithFixedDelay(this::flushQuietly,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::refreshHotHotels,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        // Keep what was counted since the last flush
+        flushQuietly();
+    }
+
+    /**
+     * Count a request for the hotel.
+     */
+    public void record(Long hotelId) {
+        StripedHeavyHitters current = sketch;
+        if (current != null && hotelId != null) {
+            current.offer(hotelId);
+        }
+    }
+
+    /**
+     * Whether the startup warm-up has finished (or is disabled).
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int hotHotelCount() {
+        return hotHotelIds.size();
+    }
+
+    /**
+     * Called by {@link HotelCacheCoordinator} after a hotel's entries were evicted; reloads
+     * them in the background if the hotel is hot. Repeated evictions before the reload runs
+     * are coalesced.
+     */
+    void onEvicted(Long hotelId) {
+        if (executor != null && hotHotelIds.contains(hotelId) && pendingRefresh.add(hotelId)) {
+            executor.execute(() -> {
+                pendingRefresh.remove(hotelId);
+                refreshQuietly(hotelId);
+            });
+        }
+    }
+
+    void onEvictedAll() {
+        for (Long hotelId : hotHotelIds) {
+            onEvicted(hotelId);
+        }
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            int loaded = refreshHotHotels();
+            LOG.infof("Cache warm-up loaded %d hot hotels in %d ms", loaded, System.currentTimeMillis() - start);
+        } finally {
+            // Also when the database was unavailable: readiness must not hang on a cold cache
+            warm = true;
+        }
+    }
+
+    private int refreshHotHotels() {
+        try {
+            List<Long> hotelIds = accessCountRepository.findTopHotelIds(topN);
+            hotHotelIds = Set.copyOf(hotelIds);
+            int loaded = 0;
+            for (Long hotelId : hotelIds) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (refreshQuietly(hotelId)) {
+                    loaded++;
+                }
+            }
+            return loaded;
+        } catch (Exception e) {
+            LOG.warnf("Failed to load hot hotels: %s", e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean refreshQuietly(Long hotelId) {
+        try {
+            return refresh(hotelId);
+        } catch (Exception e) {
+            LOG.debugf(e, "Failed to refresh cached entries of hotel %d", hotelId);
+            return false;
+        }
+    }
+
+    /**
+     * Reload the hotel's entries from the database and replace the cached ones, which also
+     * restarts their expiry.
+     *
+     * @return false if the hotel no longer exists
+     */
+    @Transactional
+    boolean refresh(Long hotelId) {
+        Optional<HotelVersionDto> before = hotelRepository.findContentVersion(hotelId);
+        if (before.isEmpty()) {
+            return false;
+        }
+
+        // Also drops the entries not reloaded here, such as further review pages, which the
+        // version primed below must not vouch for
+        cacheCoordinator.evictContent(hotelId);
+        Optional<HotelDto> detail = hotelDetailOffHeap.get(hotelId, hotelDetailRepository::findHotelDetail);
+        put(hotelById, hotelId, detail);
+        put(hotelPhotos, hotelId, hotelPhotoRepository.getHotelPhotos(hotelId));
+        put(hotelFacilities, hotelId, hotelFacilityRepository.getHotelFacilities(hotelId));
+        put(hotelRooms, hotelId, hotelRoomRepository.getHotelRooms(hotelId));
+        put(hotelReviews, new CompositeCacheKey(hotelId, 0, REVIEW_PAGE_SIZE),
+                hotelReviewRepository.getHotelReviews(hotelId, 0, REVIEW_PAGE_SIZE));
+        put(hotelTranslations, new CompositeCacheKey(hotelId, null),
+                hotelTranslationRepository.getHotelTranslations(hotelId, null));
+
+        Optional<HotelVersionDto> after = hotelRepository.findContentVersion(hotelId);
+        if (after.isEmpty() || after.get().version != before.get().version) {
+            cacheCoordinator.evict(hotelId);
+            return false;
+        }
+        hotelVersions.prime(hotelId, after.get());
+        return true;
+    }
+
+    @Transactional
+    void addHits(List<Map.Entry<Long, Long>> counts) {
+        accessCountRepository.addHits(counts);
+    }
+
+    /**
+     * Separate from {@link #addHits}, see {@link HotelAccessCountRepository} on locking.
+     */
+    @Transactional
+    void decay() {
+        if (!accessCountRepository.tryLockForMaintenance()) {
+            // Another replica is at it, or flushing; the next flush catches up
+            return;
+        }
+        accessCountRepository.decay(halfLife);
+        // The table keeps as many hotels as one sketch tracks
+        accessCountRepository.trim(sketchCapacity);
+    }
+
+    private void flushQuietly() {
+        List<Map.Entry<Long, Long>> counts = sketch.drain();
+        try {
+            addHits(counts);
+        } catch (Exception e) {
+            // Counted again with the next interval's requests
+            sketch.restore(counts);
+            LOG.warnf("Failed to persist hotel request counts: %s", e.getMessage());
+            return;
+        }
+        try {
+            decay();
+        } catch (Exception e) {
+            LOG.warnf("Failed to decay hotel request counts: %s", e.getMessage());
+        }
+    }
+
+    private static void put(Cache cache, Object key, Object value) {
+        cache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(value));
+    }
+}
@@ -0,0 +1,26 @@
+package com.hotelhub.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Keeps the replica out of the load balancer until the hot hotels are in the caches.
+ */
+@Readiness
+@ApplicationScoped
+public class HotelCacheWarmupCheck implements HealthCheck {
+
+    @Inject
+    HotelCacheWarmer cacheWarmer;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("hotel-cache-warmup")
+                .status(cacheWarmer.isWarm())
+                .withData("hotHotels", cacheWarmer.hotHotelCount())
+                .build();
+    }
+}
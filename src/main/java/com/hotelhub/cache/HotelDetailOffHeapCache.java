@@ -0,0 +1,139 @@
+package com.hotelhub.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelhub.dto.HotelDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Second tier below the {@code hotel-by-id} Caffeine cache. Hotel detail DTOs are stored as
+ * JSON in an {@link OffHeapArena}, so the warm part of the catalogue is served without a
+ * database hit while the heap only holds the hot entries kept by Caffeine.
+ *
+ * <p>Like {@link ResponseBodyCache}, each hotel maps to a generation stripe that eviction
+ * bumps: a load that started before an eviction may have read the previous state, so its
+ * result is dropped instead of being stored after the eviction. If direct memory runs out the
+ * tier turns itself off and hotels are loaded straight from the database.
+ */
+@ApplicationScoped
+public class HotelDetailOffHeapCache {
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    private static final Logger LOG = Logger.getLogger(HotelDetailOffHeapCache.class);
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "hotel.cache.off-heap.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.cache.off-heap.capacity-mb", defaultValue = "64")
+    int capacityMb;
+
+    @ConfigProperty(name = "hotel.cache.off-heap.chunk-mb", defaultValue = "16")
+    int chunkMb;
+
+    @ConfigProperty(name = "hotel.cache.off-heap.expire-after-write", defaultValue = "PT6H")
+    Duration expireAfterWrite;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private volatile OffHeapArena arena;
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            // Chunks are allocated as the arena fills up
+            arena = new OffHeapArena((long) capacityMb << 20, chunkMb << 20);
+            LOG.infof("Off-heap hotel cache enabled with up to %d MB", arena.capacity() >> 20);
+        }
+    }
+
+    /**
+     * Serve the hotel from the arena, or load it and store the result. Hotels that do not
+     * exist are not stored.
+     */
+    public Optional<HotelDto> get(Long hotelId, Function<Long, Optional<HotelDto>> loader) {
+        OffHeapArena arena = this.arena;
+        if (arena == null) {
+            return loader.apply(hotelId);
+        }
+        byte[] bytes = arena.get(hotelId);
+        if (bytes != null) {
+            // Entries are prefixed with their write time in epoch milliseconds
+            long writtenAt = ByteBuffer.wrap(bytes).getLong();
+            if (System.currentTimeMillis() - writtenAt < expireAfterWrite.toMillis()) {
+                try {
+                    return Optional.of(objectMapper.readValue(bytes, Long.BYTES, bytes.length - Long.BYTES, HotelDto.class));
+                } catch (IOException e) {
+                    LOG.warnf(e, "Dropping unreadable off-heap entry for hotel %d", hotelId);
+                }
+            }
+            arena.remove(hotelId);
+        }
+
+        long generation = generation(hotelId);
+        Optional<HotelDto> hotel = loader.apply(hotelId);
+        if (hotel.isPresent() && generation(hotelId) == generation) {
+            store(arena, hotelId, hotel.get());
+            // An eviction between the check and the store must not leave this copy behind
+            if (generation(hotelId) != generation) {
+                arena.remove(hotelId);
+            }
+        }
+        return hotel;
+    }
+
+    public void evict(Long hotelId) {
+        generations.incrementAndGet(stripe(hotelId));
+        OffHeapArena arena = this.arena;
+        if (arena != null) {
+            arena.remove(hotelId);
+        }
+    }
+
+    public void evictAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        OffHeapArena arena = this.arena;
+        if (arena != null) {
+            arena.clear();
+        }
+    }
+
+    private void store(OffHeapArena arena, Long hotelId, HotelDto hotel) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(hotel);
+            arena.put(hotelId, ByteBuffer.allocate(Long.BYTES + json.length)
+                    .putLong(System.currentTimeMillis())
+                    .put(json)
+                    .array());
+        } catch (IOException e) {
+            LOG.warnf(e, "Could not store hotel %d off-heap", hotelId);
+        } catch (OutOfMemoryError e) {
+            // Direct memory limit reached: release the arena and serve from the database
+            this.arena = null;
+            LOG.warnf("Off-heap hotel cache disabled after allocating %d MB: %s (raise -XX:MaxDirectMemorySize or "
+                    + "lower hotel.cache.off-heap.capacity-mb)", arena.allocatedBytes() >> 20, e.getMessage());
+        }
+    }
+
+    private long generation(Long hotelId) {
+        return generations.get(stripe(hotelId));
+    }
+
+    private static int stripe(Long hotelId) {
+        return (Long.hashCode(hotelId) & 0x7fffffff) % GENERATION_STRIPES;
+    }
+}
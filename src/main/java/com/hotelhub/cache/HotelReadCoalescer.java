@@ -0,0 +1,105 @@
+package com.hotelhub.cache;
+
+import io.quarkus.cache.CompositeCacheKey;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading for hotel reads: concurrent calls for the same read share one
+ * database load, and all of them get its result or its exception. The per-hotel caches already
+ * coalesce misses of one key; this covers reads with no cache in front and runs with caching
+ * disabled. {@link HotelCacheCoordinator} forgets a hotel's loads before evicting its cached
+ * entries, so a request arriving after a change never joins a load that started before it.
+ */
+@ApplicationScoped
+public class HotelReadCoalescer {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder joined = new LongAdder();
+
+    /**
+     * Load a read of one hotel, joining an identical load already in flight.
+     *
+     * @param read names the read path; together with the hotel ID and the arguments it forms the key
+     */
+    public <V> V load(Long hotelId, String read, Supplier<V> loader, Object... args) {
+        Object[] elements = new Object[args.length + 2];
+        elements[0] = hotelId;
+        elements[1] = read;
+        System.arraycopy(args, 0, elements, 2, args.length);
+        return join(new CompositeCacheKey(elements), loader);
+    }
+
+    /**
+     * Load a read over the whole catalogue, forgotten whenever any hotel changes.
+     */
+    public <V> V load(String read, Supplier<V> loader) {
+        return join(read, loader);
+    }
+
+    public void forget(Long hotelId) {
+        forgetIf(key -> !(key instanceof CompositeCacheKey) || HotelCacheCoordinator.isKeyOf(key, hotelId));
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Calls since startup that joined a load already in flight instead of loading themselves.
+     */
+    public long joinedCount() {
+        return joined.sum();
+    }
+
+    private void forgetIf(Predicate<Object> predicate) {
+        inFlight.keySet().removeIf(predicate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V join(Object key, Supplier<V> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            joined.increment();
+            return (V) await(existing);
+        }
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Only this call's entry: after forget() a newer load may own the key
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception unchanged, as if this call had loaded itself
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotelhub.cache;
+
+import com.hotelhub.dto.HotelVersionDto;
+import com.hotelhub.repository.HotelRepository;
+import com.hotelhub.service.HotelChangedEvent;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per-hotel content versions for conditional requests. The version is bumped in the writing
+ * transaction of every hotel change, and the current one is served from the small
+ * {@code hotel-versions} cache, which {@link HotelCacheCoordinator} evicts after commit. A
+ * revalidation therefore costs a map lookup, or one primary-key read of two columns on a miss.
+ *
+ * <p>A version tags responses rendered from the content caches, so it must never be newer
+ * than what they hold. While it stays cached this holds, since the coordinator evicts it after
+ * the content. A version read from the database on a miss, though, may already include a
+ * change whose eviction has not reached this replica yet: after commit on the writing replica,
+ * until the cluster notification arrives on the others. So a miss also evicts the hotel's
+ * content caches, and responses tagged with that version are rendered from fresh data. This
+ * costs a reload of the hotel's content per version miss, never a stale body under a new tag.
+ */
+@ApplicationScoped
+public class HotelVersions {
+
+    // Cached for unknown hotels too; creating the hotel evicts it
+    private static final HotelVersionDto MISSING = new HotelVersionDto(-1, Instant.EPOCH);
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelCacheCoordinator cacheCoordinator;
+
+    @Inject
+    @CacheName("hotel-versions")
+    Cache cache;
+
+    void onHotelChanged(@Observes HotelChangedEvent event) {
+        if (event.hotelId != null) {
+            hotelRepository.bumpContentVersion(event.hotelId);
+        }
+    }
+
+    public Optional<HotelVersionDto> current(Long hotelId) {
+        HotelVersionDto version = cache.get(hotelId, this::load).await().indefinitely();
+        return version == MISSING ? Optional.empty() : Optional.of(version);
+    }
+
+    /**
+     * Cache a version read together with the content that was just put into the content
+     * caches, so the next request does not evict them again.
+     */
+    void prime(Long hotelId, HotelVersionDto version) {
+        cache.as(CaffeineCache.class).put(hotelId, CompletableFuture.completedFuture(version));
+    }
+
+    private HotelVersionDto load(Long hotelId) {
+        HotelVersionDto version = hotelRepository.findContentVersion(hotelId).orElse(MISSING);
+        if (cache instanceof CaffeineCache) {
+            // Content cached before this version committed may not be evicted yet
+            cacheCoordinator.evictContent(hotelId);
+        }
+        return version;
+    }
+}
@@ -0,0 +1,229 @@
+package com.hotelhub.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Byte-array cache in direct memory, organized as a ring log over fixed-size chunks.
+ * Entries are appended at the write position; when the ring is full the oldest entries are
+ * overwritten, so eviction is FIFO and needs no free-list or compaction. Only the key index
+ * and one small slot record per entry live on the heap. Reads copy the value out, so callers
+ * never hold references into the arena. Chunks are allocated when first written to, so an
+ * arena only takes the direct memory its entries have reached.
+ */
+public class OffHeapArena {
+
+    private static final class Slot {
+        final Object key;
+        final long offset;
+        final int length;
+
+        Slot(Object key, long offset, int length) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private final ByteBuffer[] chunks;
+    private final int chunkSize;
+    private final long capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Object, Slot> index = new HashMap<>();
+    // Slots in write order; together they occupy one contiguous ring range ending at writePosition
+    private final ArrayDeque<Slot> log = new ArrayDeque<>();
+    private long writePosition;
+    private long usedBytes;
+
+    public OffHeapArena(long capacity, int chunkSize) {
+        if (capacity <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("capacity and chunkSize must be positive");
+        }
+        int chunkCount = (int) ((capacity + chunkSize - 1) / chunkSize);
+        this.chunks = new ByteBuffer[chunkCount];
+        this.chunkSize = chunkSize;
+        this.capacity = (long) chunkCount * chunkSize;
+    }
+
+    /**
+     * Largest value accepted; bigger ones would evict too much of the arena at once.
+     */
+    public int maxValueSize() {
+        return (int) Math.min(Integer.MAX_VALUE, capacity / 4);
+    }
+
+    /**
+     * @return false if the value is too large to be stored
+     * @throws OutOfMemoryError if a chunk could not be allocated; the arena is left unchanged
+     */
+    public boolean put(Object key, byte[] value) {
+        if (value.length > maxValueSize()) {
+            remove(key);
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            boolean wraps = writePosition + value.length > capacity;
+            allocate(wraps ? 0 : writePosition, value.length);
+
+            Slot previous = index.remove(key);
+            if (previous != null) {
+                usedBytes -= previous.length;
+            }
+            if (wraps) {
+                // The tail of the ring is too short: drop whatever is stored there and wrap
+                while (!log.isEmpty() && log.peekFirst().offset >= writePosition) {
+                    evictOldest();
+                }
+                writePosition = 0;
+            }
+            long end = writePosition + value.length;
+            while (!log.isEmpty() && log.peekFirst().offset < end
+                    && writePosition < log.peekFirst().offset + log.peekFirst().length) {
+                evictOldest();
+            }
+
+            write(writePosition, value);
+            Slot slot = new Slot(key, writePosition, value.length);
+            log.addLast(slot);
+            index.put(key, slot);
+            usedBytes += value.length;
+            writePosition = end;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public byte[] get(Object key) {
+        lock.readLock().lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            byte[] value = new byte[slot.length];
+            read(slot.offset, value);
+            return value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(Object key) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = index.remove(key);
+            if (slot != null) {
+                // The bytes stay in the ring until overwritten; only the live size changes
+                usedBytes -= slot.length;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            log.clear();
+            writePosition = 0;
+            usedBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held by live entries.
+     */
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    private void evictOldest() {
+        Slot oldest = log.removeFirst();
+        // Skip slots whose key has since been rewritten or removed
+        if (index.get(oldest.key) == oldest) {
+            index.remove(oldest.key);
+            usedBytes -= oldest.length;
+        }
+    }
+
+    /**
+     * Allocates the chunks covering {@code length} bytes from {@code position} that are not
+     * allocated yet.
+     */
+    private void allocate(long position, int length) {
+        int last = (int) ((position + Math.max(length, 1) - 1) / chunkSize);
+        for (int i = (int) (position / chunkSize); i <= last; i++) {
+            if (chunks[i] == null) {
+                chunks[i] = ByteBuffer.allocateDirect(chunkSize);
+            }
+        }
+    }
+
+    /**
+     * Direct memory allocated so far.
+     */
+    public long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer chunk : chunks) {
+                if (chunk != null) {
+                    allocated += chunkSize;
+                }
+            }
+            return allocated;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(long position, byte[] value) {
+        int done = 0;
+        while (done < value.length) {
+            long at = position + done;
+            int chunkOffset = (int) (at % chunkSize);
+            int n = Math.min(value.length - done, chunkSize - chunkOffset);
+            chunks[(int) (at / chunkSize)].put(chunkOffset, value, done, n);
+            done += n;
+        }
+    }
+
+    private void read(long position, byte[] value) {
+        int done = 0;
+        while (done < value.length) {
+            long at = position + done;
+            int chunkOffset = (int) (at % chunkSize);
+            int n = Math.min(value.length - done, chunkSize - chunkOffset);
+            chunks[(int) (at / chunkSize)].get(chunkOffset, value, done, n);
+            done += n;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.hotelhub.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of per-hotel GET responses, so a hit is written out as bytes without
+ * going through Jackson again. Keys are {@code (hotelId, resource)}; each body also records
+ * the hotel's version when rendering started. Versions live in a fixed array of counters
+ * indexed by hotel ID, bumped on every eviction, so a body rendered from data read before an
+ * eviction is never served after it. Sharing counters between hotels only costs a spurious
+ * re-render, never a stale body.
+ */
+@ApplicationScoped
+public class ResponseBodyCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    public static final class Body {
+        final long version;
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        Body(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        public byte[] json() {
+            return json;
+        }
+
+        /**
+         * Gzip-compressed body, compressed on first use and kept with the entry.
+         */
+        public byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                compressed = compress(json);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+    }
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    @CacheName("hotel-responses")
+    Cache cache;
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    /**
+     * The cached body of a hotel resource, rendering it on a miss.
+     *
+     * @param loader returns the response entity, or null when there is nothing to return
+     * @return null if the loader returned null
+     */
+    public Body get(Long hotelId, String resource, Supplier<Object> loader) {
+        CompositeCacheKey key = new CompositeCacheKey(hotelId, resource);
+        long version = version(hotelId);
+        Body body = cache.get(key, k -> render(version, loader)).await().indefinitely();
+        if (body.version != version) {
+            cache.invalidate(key).await().indefinitely();
+            body = cache.get(key, k -> render(version, loader)).await().indefinitely();
+        }
+        if (body.json == null) {
+            // Not found: not worth keeping, and lets probing for unknown IDs evict nothing
+            cache.invalidate(key).await().indefinitely();
+            return null;
+        }
+        return body;
+    }
+
+    public void evict(Long hotelId) {
+        versions.incrementAndGet(stripe(hotelId));
+        cache.invalidateIf(key -> HotelCacheCoordinator.isKeyOf(key, hotelId)).await().indefinitely();
+    }
+
+    public void evictAll() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        cache.invalidateAll().await().indefinitely();
+    }
+
+    private long version(Long hotelId) {
+        return versions.get(stripe(hotelId));
+    }
+
+    private static int stripe(Long hotelId) {
+        return (Long.hashCode(hotelId) & 0x7fffffff) % VERSION_STRIPES;
+    }
+
+    private Body render(long version, Supplier<Object> loader) {
+        Object entity = loader.get();
+        if (entity == null) {
+            return new Body(version, null);
+        }
+        try {
+            return new Body(version, objectMapper.writeValueAsBytes(entity));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,69 @@
+package com.hotelhub.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request counting for the request path: each calling thread offers into one of several
+ * independent {@link HeavyHitters} sketches, so concurrent requests, even for the same hotel,
+ * rarely wait on the same lock. The stripes are merged when drained by summing the counts of
+ * each hotel.
+ */
+public class StripedHeavyHitters {
+
+    private static final Comparator<Map.Entry<Long, Long>> MOST_FREQUENT_FIRST =
+            Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final HeavyHitters[] stripes;
+    private final int capacity;
+
+    /**
+     * @param capacity hotels tracked per stripe, and returned at most by {@link #drain()}
+     */
+    public StripedHeavyHitters(int stripes, int capacity) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        this.stripes = new HeavyHitters[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new HeavyHitters(capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public void offer(long id) {
+        stripe().offer(id);
+    }
+
+    /**
+     * Put back counts returned by {@link #drain()}, e.g. when persisting them failed.
+     */
+    public void restore(List<Map.Entry<Long, Long>> counts) {
+        HeavyHitters stripe = stripe();
+        for (Map.Entry<Long, Long> entry : counts) {
+            stripe.offer(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Merged counts of the most frequent hotels, most frequent first, leaving all stripes empty.
+     */
+    public List<Map.Entry<Long, Long>> drain() {
+        Map<Long, Long> merged = new HashMap<>();
+        for (HeavyHitters stripe : stripes) {
+            for (Map.Entry<Long, Long> entry : stripe.drain()) {
+                merged.merge(entry.getKey(), entry.getValue(), Long::sum);
+            }
+        }
+        List<Map.Entry<Long, Long>> result = new ArrayList<>(merged.entrySet());
+        result.sort(MOST_FREQUENT_FIRST);
+        return result.size() > capacity ? List.copyOf(result.subList(0, capacity)) : result;
+    }
+
+    private HeavyHitters stripe() {
+        return stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+    }
+}
@@ -0,0 +1,103 @@
+package com.hotelhub.client;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+
+/**
+ * Additive-increase / multiplicative-decrease control of the Cupid request rate.
+ * <p>
+ * A 429 cuts the rate of {@link CupidRateLimiter} and pauses it for as long as the API
+ * asked. Further 429s until the pause ends are answers to requests sent before it, so they
+ * neither cut the rate again nor extend the pause: a burst of rejections from concurrent
+ * workers counts as one. Each successful response adds a small step back, up to the configured
+ * {@code cupid.api.requests-per-minute}. The limiter therefore settles at the highest rate
+ * the API currently accepts.
+ */
+@ApplicationScoped
+public class AdaptiveRateController {
+
+    private static final Logger LOG = Logger.getLogger(AdaptiveRateController.class);
+
+    @Inject
+    CupidRateLimiter rateLimiter;
+
+    @ConfigProperty(name = "cupid.api.requests-per-minute", defaultValue = "60")
+    int maxRequestsPerMinute;
+
+    @ConfigProperty(name = "cupid.api.min-requests-per-minute", defaultValue = "6")
+    int minRequestsPerMinute;
+
+    @ConfigProperty(name = "cupid.api.rate-decrease-factor", defaultValue = "0.5")
+    double decreaseFactor;
+
+    @ConfigProperty(name = "cupid.api.rate-increase-step", defaultValue = "1")
+    double increaseStep;
+
+    @ConfigProperty(name = "cupid.api.retry-delay", defaultValue = "2000")
+    long defaultPauseMillis;
+
+    private double currentRate = -1;
+    private long pausedUntilNanos = System.nanoTime();
+
+    /**
+     * The API answered 429; back off multiplicatively and pause until it allows requests again.
+     *
+     * @param retryAfter delay requested by the server, {@code null} when it did not say
+     */
+    public synchronized void onThrottled(Duration retryAfter) {
+        long now = System.nanoTime();
+        if (now - pausedUntilNanos < 0) {
+            LOG.debug("Cupid API rate limit hit during the current pause, ignoring");
+            return;
+        }
+        double rate = Math.max(minRequestsPerMinute, rate() * decreaseFactor);
+        applyRate(rate);
+
+        Duration pause = retryAfter != null ? retryAfter : Duration.ofMillis(defaultPauseMillis);
+        rateLimiter.getBucket().pause(pause);
+        pausedUntilNanos = now + pause.toNanos();
+        LOG.warn("Cupid API rate limit hit, lowering rate to " + Math.round(rate) + " requests/minute and pausing " + pause.toMillis() + " ms");
+    }
+
+    /**
+     * The API reports the quota as exhausted until the given delay, without having rejected us yet.
+     */
+    public void onQuotaExhausted(Duration resetIn) {
+        LOG.debug("Cupid API quota exhausted, pausing " + resetIn.toMillis() + " ms");
+        rateLimiter.getBucket().pause(resetIn);
+    }
+
+    /**
+     * A request went through; ramp back up towards the configured ceiling.
+     */
+    public synchronized void onSuccess() {
+        double rate = rate();
+        if (rate < maxRequestsPerMinute) {
+            applyRate(Math.min(maxRequestsPerMinute, rate + increaseStep));
+        }
+    }
+
+    @Gauge(name = "cupid.rate-limiter.current-rate", unit = MetricUnits.NONE, absolute = true,
+            description = "Current Cupid API request rate in requests per minute")
+    public synchronized double getCurrentRate() {
+        return rate();
+    }
+
+    private double rate() {
+        if (currentRate < 0) {
+            currentRate = maxRequestsPerMinute;
+        }
+        return currentRate;
+    }
+
+    private void applyRate(double rate) {
+        currentRate = rate;
+        rateLimiter.getBucket().setPermitsPerMinute((int) Math.max(1, Math.round(rate)));
+    }
+}
@@ -3,6 +3,7 @@ package com.hotelhub.client;
 import com.hotelhub.client.dto.CupidApiResponse;
 import com.hotelhub.client.dto.CupidPropertyDto;
 import com.hotelhub.client.dto.CupidReviewDto;
+import io.smallrye.mutiny.Uni;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @RegisterRestClient(configKey="cupid-api")
 @RegisterProvider(CupidApiKeyFilter.class)
+@RegisterProvider(CupidRateLimitFilter.class)
 public interface CupidApiClient {
 
     @GET
@@ -26,4 +28,16 @@ public interface CupidApiClient {
     @GET
     @Path("/v3.0/property/{id}/lang/{language}")
     CupidPropertyDto getTranslationByPropertyIdAndLanguage(@PathParam("id") Long id, @PathParam("language") String language);
+
+    @GET
+    @Path("/v3.0/property/{id}")
+    Uni<CupidPropertyDto> getPropertyByIdAsync(@PathParam("id") Long id);
+
+    @GET
+    @Path("/v3.0/property/reviews/{id}/10")
+    Uni<List<CupidReviewDto>> getReviewsByPropertyIdAsync(@PathParam("id") Long id);
+
+    @GET
+    @Path("/v3.0/property/{id}/lang/{language}")
+    Uni<CupidPropertyDto> getTranslationByPropertyIdAndLanguageAsync(@PathParam("id") Long id, @PathParam("language") String language);
 }
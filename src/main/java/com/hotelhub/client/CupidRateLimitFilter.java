@@ -0,0 +1,92 @@
+package com.hotelhub.client;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads status codes and rate-limit headers of Cupid responses and feeds them to the
+ * {@link AdaptiveRateController}.
+ */
+@Provider
+public class CupidRateLimitFilter implements ClientResponseFilter {
+
+    private static final Logger LOG = Logger.getLogger(CupidRateLimitFilter.class);
+
+    static final int TOO_MANY_REQUESTS = 429;
+
+    @Inject
+    AdaptiveRateController rateController;
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+        int status = responseContext.getStatus();
+        if (status == TOO_MANY_REQUESTS) {
+            rateController.onThrottled(parseRetryAfter(responseContext.getHeaderString("Retry-After")));
+            return;
+        }
+        if (status >= 200 && status < 300) {
+            rateController.onSuccess();
+
+            String remaining = firstHeader(responseContext, "X-RateLimit-Remaining", "RateLimit-Remaining");
+            if ("0".equals(remaining != null ? remaining.trim() : null)) {
+                Duration resetIn = parseSeconds(firstHeader(responseContext, "X-RateLimit-Reset", "RateLimit-Reset"));
+                if (resetIn != null) {
+                    rateController.onQuotaExhausted(resetIn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retry-After is either a number of seconds or an HTTP date.
+     */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Duration seconds = parseSeconds(value);
+        if (seconds != null) {
+            return seconds;
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration wait = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+            return wait.isNegative() ? Duration.ZERO : wait;
+        } catch (DateTimeParseException e) {
+            LOG.debug("Ignoring unparseable Retry-After header: " + value);
+            return null;
+        }
+    }
+
+    private static Duration parseSeconds(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            long seconds = Long.parseLong(value.trim());
+            return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String firstHeader(ClientResponseContext responseContext, String... names) {
+        for (String name : names) {
+            String value = responseContext.getHeaderString(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotelhub.client;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-wide rate limiter for Cupid API requests, shared by all ingestion workers.
+ */
+@ApplicationScoped
+public class CupidRateLimiter {
+
+    @ConfigProperty(name = "cupid.api.requests-per-minute", defaultValue = "60")
+    int requestsPerMinute;
+
+    @ConfigProperty(name = "cupid.api.burst-capacity", defaultValue = "5")
+    int burstCapacity;
+
+    private TokenBucketRateLimiter bucket;
+
+    @PostConstruct
+    void init() {
+        bucket = new TokenBucketRateLimiter(requestsPerMinute, burstCapacity);
+    }
+
+    /**
+     * Book a request slot without blocking.
+     *
+     * @return how long to wait before sending the request
+     */
+    public Duration reserve() {
+        return bucket.reserveDelay();
+    }
+
+    public TokenBucketRateLimiter getBucket() {
+        return bucket;
+    }
+
+    @Gauge(name = "cupid.rate-limiter.available-tokens", unit = MetricUnits.NONE, absolute = true,
+            description = "Cupid API requests that can be sent right now without waiting")
+    public int availableTokens() {
+        return bucket.availableTokens();
+    }
+
+    @Gauge(name = "cupid.rate-limiter.wait-time-total", unit = MetricUnits.MILLISECONDS, absolute = true,
+            description = "Total time Cupid API requests were delayed by the rate limiter")
+    public long totalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(bucket.getTotalWaitNanos());
+    }
+
+    @Gauge(name = "cupid.rate-limiter.throttled-total", unit = MetricUnits.NONE, absolute = true,
+            description = "Cupid API requests that had to wait for a token")
+    public long throttledCount() {
+        return bucket.getThrottledCount();
+    }
+}
@@ -0,0 +1,159 @@
+package com.hotelhub.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket limiter, implemented as a generic cell rate algorithm: the whole
+ * bucket state is a single "theoretical arrival time" updated by CAS, so any number of
+ * threads can take permits without a lock.
+ * <p>
+ * Permits refill at a fixed rate and up to {@code capacity} permits can be taken in a burst.
+ * {@link #reserve()} never blocks: it books the next permit and tells the caller how long
+ * to wait before using it.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final int capacity;
+    private volatile long intervalNanos;
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    public TokenBucketRateLimiter(int permitsPerMinute, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Burst capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = toInterval(permitsPerMinute);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Book the next permit.
+     *
+     * @return nanoseconds the caller must wait before using the permit, {@code 0} if it is available now
+     */
+    public long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos;
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + interval;
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                long wait = Math.max(0, next - capacity * interval - now);
+                acquired.increment();
+                if (wait > 0) {
+                    throttled.increment();
+                    totalWaitNanos.add(wait);
+                }
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #reserve()}, as a {@link Duration}.
+     */
+    public Duration reserveDelay() {
+        return Duration.ofNanos(reserve());
+    }
+
+    /**
+     * Take a permit only if one is available right now.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos;
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + interval;
+            if (next - capacity * interval > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                acquired.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take a permit, sleeping until it is available.
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Hold back all permits for the given time, e.g. when the server asked us to retry later.
+     * A pause shorter than the current backlog has no effect.
+     */
+    public void pause(Duration duration) {
+        long pauseNanos = duration.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long paused = now + pauseNanos + (capacity - 1) * intervalNanos;
+            if (paused <= tat || theoreticalArrival.compareAndSet(tat, paused)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Change the refill rate; permits already booked keep their slot.
+     */
+    public void setPermitsPerMinute(int permitsPerMinute) {
+        this.intervalNanos = toInterval(permitsPerMinute);
+    }
+
+    public double getPermitsPerMinute() {
+        return (double) NANOS_PER_MINUTE / intervalNanos;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Permits that could be taken right now without waiting.
+     */
+    public int availableTokens() {
+        long now = System.nanoTime();
+        long interval = intervalNanos;
+        long backlog = theoreticalArrival.get() - now;
+        if (backlog <= 0) {
+            return capacity;
+        }
+        return (int) Math.max(0, (capacity * interval - backlog) / interval);
+    }
+
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    private static long toInterval(int permitsPerMinute) {
+        if (permitsPerMinute < 1) {
+            throw new IllegalArgumentException("Rate must be at least 1 permit per minute");
+        }
+        return NANOS_PER_MINUTE / permitsPerMinute;
+    }
+}
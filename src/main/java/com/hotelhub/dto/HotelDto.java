@@ -1,5 +1,7 @@
 package com.hotelhub.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -40,6 +42,10 @@ public class HotelDto {
     public Integer groupRoomMin;
     public LocalDateTime createdAt;
     public LocalDateTime updatedAt;
+
+    // Only set by location searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Double distanceKm;
     
     // Related data
     public List<HotelPhotoDto> photos;
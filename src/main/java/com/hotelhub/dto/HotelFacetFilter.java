@@ -0,0 +1,19 @@
+package com.hotelhub.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class HotelFacetFilter {
+    public String city;
+    public String countryCode;
+    public BigDecimal minRating;
+    public BigDecimal maxRating;
+    public Integer minStars;
+    public Integer maxStars;
+    public String chain;
+    public String hotelType;
+    public Boolean petsAllowed;
+    public Boolean childAllowed;
+    /** Facility IDs the hotel must all offer. */
+    public List<Integer> facilityIds = List.of();
+}
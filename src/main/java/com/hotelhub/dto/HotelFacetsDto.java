@@ -0,0 +1,28 @@
+package com.hotelhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+public class HotelFacetsDto {
+    public PagedResult<HotelDto> hotels;
+    /** Value counts per facet over all hotels matching the filter, largest first. */
+    public Map<String, List<FacetCount>> facets;
+
+    public static class FacetCount {
+        public String value;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public String label;
+        public long count;
+
+        public FacetCount() {
+        }
+
+        public FacetCount(String value, String label, long count) {
+            this.value = value;
+            this.label = label;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.hotelhub.dto;
+
+import java.time.Instant;
+
+public class HotelVersionDto {
+    public long version;
+    public Instant modifiedAt;
+
+    public HotelVersionDto() {
+    }
+
+    public HotelVersionDto(long version, Instant modifiedAt) {
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hotelhub.dto;
+
+import java.time.Instant;
+
+public class IngestionJobDto {
+    public String jobId;
+    public String status;
+    public int total;
+    public int processed;
+    public int successful;
+    public int failed;
+    public double hotelsPerMinute;
+    public Instant submittedAt;
+    public Instant startedAt;
+    public Instant finishedAt;
+    public String error;
+}
@@ -2,6 +2,11 @@ package com.hotelhub.dto;
 
 import java.util.List;
 
+/**
+ * One page of results. Offset pages carry page/totalElements/totalPages; cursor pages
+ * (keyset paging) carry {@code nextCursor} instead, with the totals set to -1 when they were
+ * not counted. {@code nextCursor} is null on the last cursor page and in offset mode.
+ */
 public class PagedResult<T> {
     public List<T> content;
     public int page;
@@ -10,6 +15,9 @@ public class PagedResult<T> {
     public int totalPages;
     public boolean first;
     public boolean last;
+    public String nextCursor;
+    // False when totalElements is a planner estimate (or not counted at all on cursor pages)
+    public boolean totalExact = true;
 
     public PagedResult() {}
 
@@ -22,4 +30,26 @@ public class PagedResult<T> {
         this.first = page == 0;
         this.last = page >= totalPages - 1;
     }
-}
\ No newline at end of file
+
+    public PagedResult(List<T> content, int page, int size, long totalElements, boolean totalExact) {
+        this(content, page, size, totalElements);
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * A keyset page; the caller fetched one row more than {@code size} to know whether another
+     * page follows, so {@code nextCursor} is only set when it does.
+     */
+    public static <T> PagedResult<T> ofCursor(List<T> content, int size, boolean first, String nextCursor) {
+        PagedResult<T> result = new PagedResult<>();
+        result.content = content;
+        result.size = size;
+        result.totalElements = -1;
+        result.totalPages = -1;
+        result.totalExact = false;
+        result.first = first;
+        result.last = nextCursor == null;
+        result.nextCursor = nextCursor;
+        return result;
+    }
+}
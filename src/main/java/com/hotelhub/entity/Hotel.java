@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -29,7 +30,8 @@ import java.util.List;
 @Table(name = "hotels")
 public class Hotel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotels_seq")
+    @SequenceGenerator(name = "hotels_seq", sequenceName = "hotels_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "cupid_id", unique = true, nullable = false)
@@ -173,6 +175,16 @@ public class Hotel {
     @Column(name = "synced_at")
     public LocalDateTime syncedAt;
 
+    // Hashes of the last ingested Cupid payloads
+    @Column(name = "property_hash")
+    public String propertyHash;
+
+    @Column(name = "reviews_hash")
+    public String reviewsHash;
+
+    @Column(name = "translations_hash")
+    public String translationsHash;
+
     // Relationships
     @OneToMany(mappedBy = "hotel", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
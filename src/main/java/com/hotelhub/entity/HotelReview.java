@@ -11,6 +11,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -23,7 +24,8 @@ import java.time.LocalDateTime;
 @Table(name = "hotel_reviews")
 public class HotelReview {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotel_reviews_seq")
+    @SequenceGenerator(name = "hotel_reviews_seq", sequenceName = "hotel_reviews_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "cupid_review_id", unique = true)
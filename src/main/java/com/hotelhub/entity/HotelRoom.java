@@ -14,6 +14,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -28,7 +29,8 @@ import java.util.List;
 public class HotelRoom {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotel_rooms_seq")
+    @SequenceGenerator(name = "hotel_rooms_seq", sequenceName = "hotel_rooms_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "cupid_room_id", unique = true)
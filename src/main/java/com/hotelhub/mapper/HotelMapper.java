@@ -23,7 +23,20 @@ public interface HotelMapper {
     @Mapping(target = "facilities", source = "facilities")
     @Mapping(target = "reviews", source = "reviews")
     @Mapping(target = "translations", source = "translations")
+    @Mapping(target = "distanceKm", ignore = true)
     HotelDto toDto(Hotel hotel);
+
+    /**
+     * Maps the hotel's own columns only; used by the detail read model, which loads the
+     * related lists with separate queries.
+     */
+    @Mapping(target = "country", source = "countryCode")
+    @Mapping(target = "photos", ignore = true)
+    @Mapping(target = "facilities", ignore = true)
+    @Mapping(target = "reviews", ignore = true)
+    @Mapping(target = "translations", ignore = true)
+    @Mapping(target = "distanceKm", ignore = true)
+    HotelDto toDtoWithoutRelations(Hotel hotel);
     
     @Mapping(target = "countryCode", source = "country")
     @Mapping(target = "photos", ignore = true)
@@ -35,6 +48,9 @@ public interface HotelMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "syncedAt", ignore = true)
+    @Mapping(target = "propertyHash", ignore = true)
+    @Mapping(target = "reviewsHash", ignore = true)
+    @Mapping(target = "translationsHash", ignore = true)
     Hotel toEntity(HotelDto dto);
     
     @Mapping(target = "cupidId", source = "hotelId")
@@ -61,6 +77,9 @@ public interface HotelMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "syncedAt", ignore = true)
+    @Mapping(target = "propertyHash", ignore = true)
+    @Mapping(target = "reviewsHash", ignore = true)
+    @Mapping(target = "translationsHash", ignore = true)
     @Mapping(target = "mainImageThumbnail", ignore = true)
     Hotel toEntity(CupidPropertyDto cupidDto);
     
@@ -88,6 +107,9 @@ public interface HotelMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "syncedAt", ignore = true)
+    @Mapping(target = "propertyHash", ignore = true)
+    @Mapping(target = "reviewsHash", ignore = true)
+    @Mapping(target = "translationsHash", ignore = true)
     @Mapping(target = "mainImageThumbnail", ignore = true)
     void updateEntityFromCupidDto(CupidPropertyDto source, @MappingTarget Hotel target);
     
@@ -102,6 +124,9 @@ public interface HotelMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "syncedAt", ignore = true)
+    @Mapping(target = "propertyHash", ignore = true)
+    @Mapping(target = "reviewsHash", ignore = true)
+    @Mapping(target = "translationsHash", ignore = true)
     void updateEntityFromDto(HotelDto source, @MappingTarget Hotel target);
     
     // Helper methods for coordinate mapping
@@ -17,6 +17,16 @@ public interface HotelRoomMapper {
     @Mapping(target = "photos", source = "photos")
     @Mapping(target = "views", source = "views")
     HotelRoomDto toDto(HotelRoom room);
+
+    /**
+     * Maps only the room's own columns; the child lists are filled by the caller
+     * so the lazy collections are never touched.
+     */
+    @Mapping(target = "bedTypes", ignore = true)
+    @Mapping(target = "amenities", ignore = true)
+    @Mapping(target = "photos", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    HotelRoomDto toDtoWithoutChildren(HotelRoom room);
     
     @Mapping(target = "hotel", ignore = true)
     @Mapping(target = "bedTypes", ignore = true)
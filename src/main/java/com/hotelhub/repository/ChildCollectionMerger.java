@@ -0,0 +1,80 @@
+package com.hotelhub.repository;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Merges incoming Cupid data into a managed child collection by natural key instead of
+ * deleting and re-inserting every row.
+ * <p>
+ * Matched children are updated in place, so Hibernate dirty checking only issues an UPDATE
+ * when a value actually changed. Unmatched incoming items become new children and children
+ * that are no longer present are removed from the collection (orphan removal deletes them).
+ * Items without a key cannot be matched and are always replaced; duplicate keys keep the
+ * first occurrence.
+ */
+final class ChildCollectionMerger {
+
+    private ChildCollectionMerger() {
+    }
+
+    static <E, D, K> void merge(List<E> children,
+                                List<D> incoming,
+                                Function<E, K> childKey,
+                                Function<D, K> incomingKey,
+                                Supplier<E> factory,
+                                BiConsumer<E, D> apply) {
+        Map<K, E> existingByKey = new HashMap<>();
+        Set<E> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (E child : children) {
+            K key = childKey.apply(child);
+            if (key == null || existingByKey.putIfAbsent(key, child) != null) {
+                stale.add(child);
+            }
+        }
+
+        Set<K> seen = new HashSet<>();
+        if (incoming != null) {
+            for (D item : incoming) {
+                K key = incomingKey.apply(item);
+                if (key != null && !seen.add(key)) {
+                    continue;
+                }
+                E child = key != null ? existingByKey.remove(key) : null;
+                if (child == null) {
+                    child = factory.get();
+                    apply.accept(child, item);
+                    children.add(child);
+                } else {
+                    apply.accept(child, item);
+                }
+            }
+        }
+
+        stale.addAll(existingByKey.values());
+        if (!stale.isEmpty()) {
+            children.removeIf(stale::contains);
+        }
+    }
+
+    /**
+     * Keep the current value when it is numerically equal, so a different scale
+     * (8.5 vs 8.50) does not count as a change.
+     */
+    static BigDecimal decimal(BigDecimal current, Double value) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal incoming = BigDecimal.valueOf(value);
+        return current != null && current.compareTo(incoming) == 0 ? current : incoming;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hotelhub.repository;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides how the total of a paged query is obtained.
+ * The planner's row estimate is read first (EXPLAIN, no rows are touched); when it is at or
+ * below the exact threshold the rows are counted, above it the estimate is returned and
+ * flagged as inexact. Either way the result is cached briefly per normalized query, so
+ * paging through the same filter does not recount on every page.
+ */
+@ApplicationScoped
+public class CountStrategy {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @ConfigProperty(name = "hotel.count.exact-threshold", defaultValue = "10000")
+    long exactThreshold;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    @CacheName("hotel-counts")
+    Cache countCache;
+
+    public static final class Total {
+        public final long value;
+        public final boolean exact;
+
+        Total(long value, boolean exact) {
+            this.value = value;
+            this.exact = exact;
+        }
+    }
+
+    /**
+     * @param cacheKey  identifies the query and all of its parameter values
+     * @param fromWhere native SQL starting at FROM, e.g. {@code FROM hotels h WHERE ...}
+     * @param params    named parameters used in {@code fromWhere}
+     */
+    public Total count(String cacheKey, String fromWhere, Map<String, Object> params) {
+        return countCache.<String, Total>get(cacheKey, key -> compute(fromWhere, params))
+                .await().indefinitely();
+    }
+
+    private Total compute(String fromWhere, Map<String, Object> params) {
+        long estimate = estimate(fromWhere, params);
+        if (estimate > exactThreshold) {
+            return new Total(estimate, false);
+        }
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*) " + fromWhere);
+        params.forEach(count::setParameter);
+        return new Total(((Number) count.getSingleResult()).longValue(), true);
+    }
+
+    private long estimate(String fromWhere, Map<String, Object> params) {
+        Query explain = entityManager.createNativeQuery("EXPLAIN SELECT 1 " + fromWhere);
+        params.forEach(explain::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object> plan = explain.getResultList();
+        if (!plan.isEmpty()) {
+            Matcher rows = PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+            if (rows.find()) {
+                return Long.parseLong(rows.group(1));
+            }
+        }
+        // No estimate available; count exactly
+        return 0;
+    }
+}
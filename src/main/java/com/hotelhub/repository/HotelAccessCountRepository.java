@@ -0,0 +1,104 @@
+package com.hotelhub.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Persisted request counts of the most requested hotels, shared by all replicas. Each replica
+ * adds the counts it collected since its last flush; counts are halved once per half-life so
+ * hotels that stopped being requested drop out of the ranking.
+ *
+ * <p>Concurrent writers from several replicas cannot deadlock. Adding hits locks rows in hotel
+ * ID order, and does so under a shared advisory lock. Decay and trim lock rows in scan order
+ * and run under the exclusive one, which a replica only tries to take. So they never overlap
+ * with any other writer, and a replica that finds the lock taken skips its maintenance. Each
+ * of these must run in its own transaction, since the advisory locks are released at commit.
+ */
+@ApplicationScoped
+public class HotelAccessCountRepository {
+
+    // Advisory lock key of the hotel_access_counts writers
+    private static final long WRITE_LOCK = 0x686f74656c5f6163L;
+
+    // Rows are locked in hotel ID order, so concurrent flushes from replicas cannot deadlock
+    private static final String ADD_HITS = """
+            INSERT INTO hotel_access_counts (hotel_id, hits)
+            SELECT t.hotel_id, t.hits
+            FROM unnest(CAST(string_to_array(:ids, ',') AS BIGINT[]),
+                        CAST(string_to_array(:hits, ',') AS BIGINT[])) AS t(hotel_id, hits)
+            ORDER BY t.hotel_id
+            ON CONFLICT (hotel_id) DO UPDATE SET hits = hotel_access_counts.hits + EXCLUDED.hits
+            """;
+
+    @Inject
+    EntityManager entityManager;
+
+    public void addHits(List<Map.Entry<Long, Long>> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        entityManager.createNativeQuery("SELECT pg_advisory_xact_lock_shared(:key)")
+                .setParameter("key", WRITE_LOCK)
+                .getSingleResult();
+        entityManager.createNativeQuery(ADD_HITS)
+                .setParameter("ids", counts.stream().map(e -> e.getKey().toString()).collect(Collectors.joining(",")))
+                .setParameter("hits", counts.stream().map(e -> e.getValue().toString()).collect(Collectors.joining(",")))
+                .executeUpdate();
+    }
+
+    /**
+     * Takes the exclusive lock for {@link #decay} and {@link #trim} until the end of the
+     * transaction, unless another transaction holds either lock.
+     *
+     * @return false if the lock is taken; the caller should skip the maintenance
+     */
+    public boolean tryLockForMaintenance() {
+        return (Boolean) entityManager.createNativeQuery("SELECT pg_try_advisory_xact_lock(:key)")
+                .setParameter("key", WRITE_LOCK)
+                .getSingleResult();
+    }
+
+    /**
+     * Halves the counts not halved within the last half-life and drops those that reach zero.
+     * Safe to call from every replica: a row is halved at most once per half-life.
+     */
+    public void decay(Duration halfLife) {
+        entityManager.createNativeQuery(
+                        "UPDATE hotel_access_counts SET hits = hits / 2, decayed_at = now() " +
+                                "WHERE decayed_at <= now() - make_interval(secs => :seconds)")
+                .setParameter("seconds", halfLife.toSeconds())
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM hotel_access_counts WHERE hits = 0")
+                .executeUpdate();
+    }
+
+    /**
+     * Keeps the {@code keep} most requested hotels and deletes the tail.
+     */
+    public void trim(int keep) {
+        entityManager.createNativeQuery(
+                        "DELETE FROM hotel_access_counts WHERE hotel_id NOT IN " +
+                                "(SELECT hotel_id FROM hotel_access_counts ORDER BY hits DESC, hotel_id LIMIT :keep)")
+                .setParameter("keep", keep)
+                .executeUpdate();
+    }
+
+    /**
+     * IDs of the most requested hotels that still exist, most requested first.
+     */
+    public List<Long> findTopHotelIds(int limit) {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = entityManager.createNativeQuery(
+                        "SELECT a.hotel_id FROM hotel_access_counts a JOIN hotels h ON h.id = a.hotel_id " +
+                                "ORDER BY a.hits DESC, a.hotel_id LIMIT :limit")
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+}
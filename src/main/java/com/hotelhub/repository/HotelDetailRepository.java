@@ -0,0 +1,105 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelFacility;
+import com.hotelhub.entity.HotelPhoto;
+import com.hotelhub.entity.HotelReview;
+import com.hotelhub.entity.HotelTranslation;
+import com.hotelhub.mapper.HotelFacilityMapper;
+import com.hotelhub.mapper.HotelMapper;
+import com.hotelhub.mapper.HotelPhotoMapper;
+import com.hotelhub.mapper.HotelReviewMapper;
+import com.hotelhub.mapper.HotelTranslationMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Read model behind the hotel detail endpoint.
+ * The hotel row and each collection in {@link HotelDto} are read with one query apiece
+ * (five statements in total, independent of the number of reviews or rooms). All queries
+ * are read-only, so Hibernate keeps no snapshots for dirty checking and the lazy
+ * collections of the entity graph are never initialized.
+ */
+@ApplicationScoped
+public class HotelDetailRepository {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelMapper hotelMapper;
+
+    @Inject
+    HotelPhotoMapper photoMapper;
+
+    @Inject
+    HotelFacilityMapper facilityMapper;
+
+    @Inject
+    HotelReviewMapper reviewMapper;
+
+    @Inject
+    HotelTranslationMapper translationMapper;
+
+    public Optional<HotelDto> findHotelDetail(Long hotelId) {
+        List<Hotel> hotels = readOnly(entityManager.createQuery(
+                        "SELECT h FROM Hotel h WHERE h.id = :hid", Hotel.class)
+                .setParameter("hid", hotelId))
+                .getResultList();
+        if (hotels.isEmpty()) {
+            return Optional.empty();
+        }
+
+        HotelDto dto = hotelMapper.toDtoWithoutRelations(hotels.get(0));
+
+        dto.photos = readOnly(entityManager.createQuery(
+                        "SELECT p FROM HotelPhoto p WHERE p.hotel.id = :hid " +
+                                "ORDER BY p.mainPhoto DESC, p.score DESC", HotelPhoto.class)
+                .setParameter("hid", hotelId))
+                .getResultList()
+                .stream()
+                .map(photoMapper::toDto)
+                .collect(Collectors.toList());
+
+        dto.facilities = readOnly(entityManager.createQuery(
+                        "SELECT f FROM HotelFacility f WHERE f.hotel.id = :hid ORDER BY f.name ASC",
+                        HotelFacility.class)
+                .setParameter("hid", hotelId))
+                .getResultList()
+                .stream()
+                .map(facilityMapper::toDto)
+                .collect(Collectors.toList());
+
+        dto.reviews = readOnly(entityManager.createQuery(
+                        "SELECT r FROM HotelReview r WHERE r.hotel.id = :hid ORDER BY r.createdAt DESC",
+                        HotelReview.class)
+                .setParameter("hid", hotelId))
+                .getResultList()
+                .stream()
+                .map(reviewMapper::toDto)
+                .collect(Collectors.toList());
+
+        dto.translations = readOnly(entityManager.createQuery(
+                        "SELECT t FROM HotelTranslation t WHERE t.hotel.id = :hid ORDER BY t.language ASC",
+                        HotelTranslation.class)
+                .setParameter("hid", hotelId))
+                .getResultList()
+                .stream()
+                .map(translationMapper::toDto)
+                .collect(Collectors.toList());
+
+        return Optional.of(dto);
+    }
+
+    private static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+}
@@ -0,0 +1,143 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelFacetFilter;
+import com.hotelhub.dto.HotelFacetsDto;
+import com.hotelhub.dto.HotelFacetsDto.FacetCount;
+import com.hotelhub.dto.PagedResult;
+import com.hotelhub.mapper.HotelMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Filtered hotel listing together with facet counts in two statements. The first materializes
+ * the matching hotels once in a CTE and reads the page's IDs, the per-attribute counts (one
+ * GROUPING SETS aggregate, whose empty set is the total) and the facility counts from it; the
+ * second loads the hotel rows of the page, and is skipped when the page is empty. Counts are
+ * over the hotels that match the whole filter. Page entries carry the hotel's own fields only,
+ * without photos, reviews and the other related lists.
+ */
+@ApplicationScoped
+public class HotelFacetRepository {
+
+    static final List<String> FACETS = List.of("stars", "chain", "hotelType", "petsAllowed", "childAllowed", "facility");
+
+    private static final int MAX_FACET_VALUES = 20;
+
+    private static final String FACETS_QUERY = """
+            WITH matched AS MATERIALIZED (
+                SELECT id, rating, stars, chain, hotel_type, pets_allowed, child_allowed FROM hotels WHERE %s
+            )
+            (SELECT 'page' AS facet, CAST(id AS TEXT) AS value, CAST(NULL AS TEXT) AS label,
+                    row_number() OVER (ORDER BY rating DESC NULLS LAST, id) AS n
+             FROM matched ORDER BY rating DESC NULLS LAST, id LIMIT :limit OFFSET :offset)
+            UNION ALL
+            SELECT CASE WHEN GROUPING(stars) = 0 THEN 'stars'
+                        WHEN GROUPING(chain) = 0 THEN 'chain'
+                        WHEN GROUPING(hotel_type) = 0 THEN 'hotelType'
+                        WHEN GROUPING(pets_allowed) = 0 THEN 'petsAllowed'
+                        WHEN GROUPING(child_allowed) = 0 THEN 'childAllowed'
+                        ELSE 'total' END,
+                   COALESCE(CAST(stars AS TEXT), chain, hotel_type, CAST(pets_allowed AS TEXT), CAST(child_allowed AS TEXT)),
+                   NULL, COUNT(*)
+            FROM matched
+            GROUP BY GROUPING SETS ((stars), (chain), (hotel_type), (pets_allowed), (child_allowed), ())
+            UNION ALL
+            (SELECT 'facility', CAST(f.facility_id AS TEXT), MIN(f.name), COUNT(DISTINCT f.hotel_id)
+             FROM hotel_facilities f JOIN matched m ON m.id = f.hotel_id
+             GROUP BY f.facility_id ORDER BY 4 DESC, f.facility_id LIMIT :facilityLimit)
+            """;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelMapper hotelMapper;
+
+    public HotelFacetsDto findWithFacets(HotelFacetFilter filter, int page, int size) {
+        Map<String, Object> params = new HashMap<>();
+        String where = filterClause(params, filter);
+
+        Query query = entityManager.createNativeQuery(String.format(FACETS_QUERY, where))
+                .setParameter("limit", size)
+                .setParameter("offset", page * size)
+                .setParameter("facilityLimit", MAX_FACET_VALUES);
+        params.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        FACETS.forEach(name -> facets.put(name, new ArrayList<>()));
+        List<Object[]> pageRows = new ArrayList<>();
+        long total = 0;
+
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            long n = ((Number) row[3]).longValue();
+            if ("page".equals(facet)) {
+                pageRows.add(row);
+            } else if ("total".equals(facet)) {
+                total = n;
+            } else if (row[1] != null) {
+                facets.get(facet).add(new FacetCount((String) row[1], (String) row[2], n));
+            }
+        }
+
+        facets.replaceAll((name, counts) -> counts.stream()
+                .sorted(Comparator.comparingLong((FacetCount c) -> c.count).reversed().thenComparing(c -> c.value))
+                .limit(MAX_FACET_VALUES)
+                .collect(Collectors.toList()));
+
+        List<Long> ids = pageRows.stream()
+                .sorted(Comparator.comparingLong(row -> ((Number) row[3]).longValue()))
+                .map(row -> Long.valueOf((String) row[1]))
+                .collect(Collectors.toList());
+
+        var result = new HotelFacetsDto();
+        result.hotels = new PagedResult<>(hotelRepository.toDtosInOrder(ids, hotelMapper::toDtoWithoutRelations), page, size, total);
+        result.facets = facets;
+        return result;
+    }
+
+    private String filterClause(Map<String, Object> params, HotelFacetFilter filter) {
+        StringBuilder where = new StringBuilder(hotelRepository.filterClause(params, true, filter.city,
+                filter.countryCode, filter.minRating, filter.maxRating, filter.minStars, filter.maxStars));
+
+        if (filter.chain != null && !filter.chain.isBlank()) {
+            where.append(" AND chain = :chain");
+            params.put("chain", filter.chain);
+        }
+        if (filter.hotelType != null && !filter.hotelType.isBlank()) {
+            where.append(" AND hotel_type = :hotelType");
+            params.put("hotelType", filter.hotelType);
+        }
+        if (filter.petsAllowed != null) {
+            where.append(" AND pets_allowed = :petsAllowed");
+            params.put("petsAllowed", filter.petsAllowed);
+        }
+        if (filter.childAllowed != null) {
+            where.append(" AND child_allowed = :childAllowed");
+            params.put("childAllowed", filter.childAllowed);
+        }
+        if (!filter.facilityIds.isEmpty()) {
+            List<Integer> facilityIds = filter.facilityIds.stream().distinct().collect(Collectors.toList());
+            where.append(" AND id IN (SELECT hotel_id FROM hotel_facilities WHERE facility_id IN (:facilityIds)"
+                    + " GROUP BY hotel_id HAVING COUNT(DISTINCT facility_id) = :facilityCount)");
+            params.put("facilityIds", facilityIds);
+            params.put("facilityCount", (long) facilityIds.size());
+        }
+        return where.toString();
+    }
+}
@@ -43,24 +43,21 @@ public class HotelFacilityRepository implements PanacheRepository<HotelFacility>
 
     @Transactional
     public void updateHotelFacilities(Hotel hotel, List<CupidPropertyDto.Facility> facilityDtos) {
-        hotel = entityManager.getReference(Hotel.class, hotel.id);
+        Hotel owner = entityManager.getReference(Hotel.class, hotel.id);
+
+        ChildCollectionMerger.merge(owner.facilities, facilityDtos,
+                fac -> fac.facilityId,
+                f -> f.facilityId,
+                () -> {
+                    var fac = new HotelFacility();
+                    fac.hotel = owner;
+                    return fac;
+                },
+                (fac, f) -> {
+                    fac.facilityId = f.facilityId;
+                    fac.name = f.name;
+                });
 
-        for (var existing : List.copyOf(hotel.facilities)) {
-            hotel.facilities.remove(existing);
-            entityManager.remove(existing);
-        }
-        entityManager.flush();
-
-        if (facilityDtos == null) return;
-
-        for (var f : facilityDtos) {
-            var fac = new HotelFacility();
-            fac.id = null;
-            fac.hotel = hotel;
-            fac.facilityId = f.facilityId;
-            fac.name = f.name;
-            hotel.facilities.add(fac);
-        }
         entityManager.flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.dto.PagedResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Location queries over hotel coordinates without PostGIS.
+ * Every query is first narrowed to a latitude/longitude box that the (latitude, longitude)
+ * B-tree index answers; great-circle (haversine) distances are only computed for the hotels
+ * inside that box. Both queries page with a keyset cursor.
+ */
+@ApplicationScoped
+public class HotelGeoRepository {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private static final String DISTANCE = "(2 * " + EARTH_RADIUS_KM + " * asin(LEAST(1, sqrt("
+            + "power(sin(radians(h.latitude - :lat) / 2), 2) + "
+            + "cos(radians(:lat)) * cos(radians(h.latitude)) * power(sin(radians(h.longitude - :lon) / 2), 2)))))";
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    /**
+     * Hotels within {@code radiusKm} of a point, nearest first.
+     *
+     * @param cursor nextCursor of the previous page, or an empty string for the first page
+     */
+    public PagedResult<HotelDto> findNearby(double lat, double lon, double radiusKm, String cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("lat", lat);
+        params.put("lon", lon);
+        params.put("radius", radiusKm);
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        // When the circle reaches a pole any longitude can be within the radius
+        boolean coversPole = lat + latDelta >= 90 || lat - latDelta <= -90;
+        double lonDelta = coversPole || cosLat < 1e-6 ? 180 : radiusKm / (KM_PER_DEGREE * cosLat);
+        StringBuilder where = new StringBuilder(boxClause(params,
+                Math.max(-90, lat - latDelta), lon - lonDelta, Math.min(90, lat + latDelta), lon + lonDelta));
+        where.append(" AND ").append(DISTANCE).append(" <= :radius");
+
+        if (!cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, "nearby", 2);
+            where.append(" AND (").append(DISTANCE).append(" > :lastDistance OR (")
+                    .append(DISTANCE).append(" = :lastDistance AND h.id > :lastId))");
+            params.put("lastDistance", Double.valueOf(keys[0]));
+            params.put("lastId", Long.valueOf(keys[1]));
+        }
+
+        Query query = entityManager.createNativeQuery(
+                        "SELECT h.id, " + DISTANCE + " FROM hotels h WHERE " + where + " ORDER BY 2, h.id")
+                .setMaxResults(size + 1);
+        params.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Object[] last = rows.get(size - 1);
+            nextCursor = PageCursor.encode("nearby", last[1], last[0]);
+        }
+
+        Map<Long, Double> distances = new HashMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = ((Number) row[0]).longValue();
+            ids.add(id);
+            distances.put(id, ((Number) row[1]).doubleValue());
+        }
+        List<HotelDto> hotels = hotelRepository.toDtosInOrder(ids);
+        hotels.forEach(dto -> dto.distanceKm = distances.get(dto.id));
+        return PagedResult.ofCursor(hotels, size, cursor.isEmpty(), nextCursor);
+    }
+
+    /**
+     * Hotels inside a bounding box, by id. A box whose west edge is greater than its east
+     * edge crosses the antimeridian.
+     *
+     * @param cursor nextCursor of the previous page, or an empty string for the first page
+     */
+    public PagedResult<HotelDto> findWithinBox(double minLat, double minLon, double maxLat, double maxLon,
+                                               String cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        double east = maxLon < minLon ? maxLon + 360 : maxLon;
+        StringBuilder where = new StringBuilder(boxClause(params, minLat, minLon, maxLat, east));
+
+        if (!cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, "within", 1);
+            where.append(" AND h.id > :lastId");
+            params.put("lastId", Long.valueOf(keys[0]));
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT h.id FROM hotels h WHERE " + where + " ORDER BY h.id")
+                .setMaxResults(size + 1);
+        params.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Number> rows = query.getResultList();
+        List<Long> ids = rows.stream().map(Number::longValue).collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            nextCursor = PageCursor.encode("within", ids.get(size - 1));
+        }
+        return PagedResult.ofCursor(hotelRepository.toDtosInOrder(ids), size, cursor.isEmpty(), nextCursor);
+    }
+
+    /**
+     * Latitude range plus one or two longitude ranges when the box crosses the antimeridian.
+     * Bounds are bound as numerics so the comparison stays on the indexed DECIMAL columns.
+     */
+    private static String boxClause(Map<String, Object> params, double minLat, double west, double maxLat, double east) {
+        params.put("minLat", BigDecimal.valueOf(minLat));
+        params.put("maxLat", BigDecimal.valueOf(maxLat));
+        String clause = "h.latitude BETWEEN :minLat AND :maxLat";
+
+        if (east - west >= 360) {
+            return clause + " AND h.longitude IS NOT NULL";
+        }
+        if (west < -180) {
+            params.put("westA", BigDecimal.valueOf(west + 360));
+            params.put("eastB", BigDecimal.valueOf(east));
+            return clause + " AND (h.longitude >= :westA OR h.longitude <= :eastB)";
+        }
+        if (east > 180) {
+            params.put("westA", BigDecimal.valueOf(west));
+            params.put("eastB", BigDecimal.valueOf(east - 360));
+            return clause + " AND (h.longitude >= :westA OR h.longitude <= :eastB)";
+        }
+        params.put("minLon", BigDecimal.valueOf(west));
+        params.put("maxLon", BigDecimal.valueOf(east));
+        return clause + " AND h.longitude BETWEEN :minLon AND :maxLon";
+    }
+}
@@ -11,7 +11,6 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -44,31 +43,27 @@ public class HotelPhotoRepository implements PanacheRepository<HotelPhoto> {
 
     @Transactional
     public void updateHotelPhotos(Hotel hotel, List<CupidPropertyDto.Photo> photoDtos) {
-        hotel = entityManager.getReference(Hotel.class, hotel.id);
+        Hotel owner = entityManager.getReference(Hotel.class, hotel.id);
 
-        for (var existing : List.copyOf(hotel.photos)) {
-            hotel.photos.remove(existing);
-            entityManager.remove(existing);
-        }
-        entityManager.flush();
-
-        if (photoDtos == null) return;
-
-        for (var p : photoDtos) {
-            var photo = new HotelPhoto();
-            photo.id = null; // IMPORTANT
-            photo.hotel = hotel;
-            photo.url = p.url;
-            photo.hdUrl = p.hdUrl;
-            photo.imageDescription = p.imageDescription;
-            photo.imageClass1 = p.imageClass1;
-            photo.imageClass2 = p.imageClass2;
-            photo.mainPhoto = p.mainPhoto;
-            photo.score = p.score != null ? BigDecimal.valueOf(p.score) : null;
-            photo.classId = p.classId;
-            photo.classOrder = p.classOrder;
-            hotel.photos.add(photo);
-        }
+        ChildCollectionMerger.merge(owner.photos, photoDtos,
+                photo -> photo.url,
+                p -> p.url,
+                () -> {
+                    var photo = new HotelPhoto();
+                    photo.hotel = owner;
+                    return photo;
+                },
+                (photo, p) -> {
+                    photo.url = p.url;
+                    photo.hdUrl = p.hdUrl;
+                    photo.imageDescription = p.imageDescription;
+                    photo.imageClass1 = p.imageClass1;
+                    photo.imageClass2 = p.imageClass2;
+                    photo.mainPhoto = p.mainPhoto;
+                    photo.score = ChildCollectionMerger.decimal(photo.score, p.score);
+                    photo.classId = p.classId;
+                    photo.classOrder = p.classOrder;
+                });
 
         entityManager.flush();
     }
@@ -9,6 +9,7 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 
 @ApplicationScoped
@@ -32,28 +33,26 @@ public class HotelPolicyRepository implements PanacheRepository<HotelPolicy> {
 
     @Transactional
     public void updateHotelPolicies(Hotel hotel, List<CupidPropertyDto.Policy> policyDtos) {
-        hotel = entityManager.getReference(Hotel.class, hotel.id);
+        Hotel owner = entityManager.getReference(Hotel.class, hotel.id);
+
+        // Cupid policies have no ID, type and name identify them within a hotel
+        ChildCollectionMerger.merge(owner.policies, policyDtos,
+                pol -> Arrays.asList(pol.policyType, pol.name),
+                p -> Arrays.asList(p.policyType, p.name),
+                () -> {
+                    var pol = new HotelPolicy();
+                    pol.hotel = owner;
+                    return pol;
+                },
+                (pol, p) -> {
+                    pol.policyType = p.policyType;
+                    pol.name = p.name;
+                    pol.description = p.description;
+                    pol.childAllowed = p.childAllowed;
+                    pol.petsAllowed = p.petsAllowed;
+                    pol.parking = p.parking;
+                });
 
-        for (var existing : List.copyOf(hotel.policies)) {
-            hotel.policies.remove(existing);
-            entityManager.remove(existing);
-        }
-        entityManager.flush();
-
-        if (policyDtos == null) return;
-
-        for (var p : policyDtos) {
-            var pol = new HotelPolicy();
-            pol.id = null;
-            pol.hotel = hotel;
-            pol.policyType = p.policyType;
-            pol.name = p.name;
-            pol.description = p.description;
-            pol.childAllowed = p.childAllowed;
-            pol.petsAllowed = p.petsAllowed;
-            pol.parking = p.parking;
-            hotel.policies.add(pol);
-        }
         entityManager.flush();
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.hotelhub.repository;
 
 import com.hotelhub.dto.HotelDto;
 import com.hotelhub.dto.HotelStatisticsDto;
+import com.hotelhub.dto.HotelVersionDto;
 import com.hotelhub.dto.PagedResult;
 import com.hotelhub.entity.Hotel;
 import com.hotelhub.mapper.HotelMapper;
@@ -12,34 +13,156 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
 @ApplicationScoped
 public class HotelRepository implements PanacheRepository<Hotel> {
 
+    // The same prefix query in each configuration used to build the search vector, OR-ed together
+    private static final String FULL_TEXT_QUERY = "(to_tsquery('simple', :q) || to_tsquery('english', :q) " +
+            "|| to_tsquery('french', :q) || to_tsquery('spanish', :q))";
+    private static final String FULL_TEXT_MATCH = "h.search_vector @@ " + FULL_TEXT_QUERY;
+    private static final String FULL_TEXT_SCORE = "ts_rank(h.search_vector, " + FULL_TEXT_QUERY + ")";
+
+    private static final String FUZZY_MATCH = "(LOWER(h.name) % :q OR LOWER(h.city) % :q)";
+    private static final String FUZZY_SCORE = "GREATEST(similarity(LOWER(h.name), :q), " +
+            "similarity(LOWER(COALESCE(h.city, '')), :q))";
+
+    // Order of the hotel listing, shared by the offset and keyset variants
+    private static final Sort LISTING_ORDER =
+            Sort.by("rating", Sort.Direction.Descending, Sort.NullPrecedence.NULLS_LAST).and("id");
+
+    // Order of search results with equal scores, shared by the offset and keyset variants
+    private static final String RANK_TIE_BREAK = "h.rating DESC NULLS LAST, h.id";
+
     @Inject
     HotelMapper hotelMapper;
 
+    @Inject
+    CountStrategy countStrategy;
+
 
     public Hotel findByCupidId(Long cupidId) {
         return find("cupidId", cupidId).firstResult();
     }
 
+    /**
+     * Record a sync without touching any other column, so updatedAt is left alone.
+     */
+    public void markSynced(Long hotelId, LocalDateTime syncedAt) {
+        update("syncedAt = ?1 where id = ?2", syncedAt, hotelId);
+    }
+
+    /**
+     * Advance the hotel's content version and modification time (see changeset 20); the columns
+     * are only ever written here, never through the entity.
+     */
+    public void bumpContentVersion(Long hotelId) {
+        getEntityManager().createNativeQuery(
+                        "UPDATE hotels SET content_version = content_version + 1, content_modified_at = now() WHERE id = :id")
+                .setParameter("id", hotelId)
+                .executeUpdate();
+    }
+
+    /**
+     * Content version and modification time, without loading the hotel.
+     */
+    public Optional<HotelVersionDto> findContentVersion(Long hotelId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager().createNativeQuery(
+                        "SELECT content_version, CAST(EXTRACT(EPOCH FROM content_modified_at) * 1000 AS BIGINT) " +
+                                "FROM hotels WHERE id = :id")
+                .setParameter("id", hotelId)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new HotelVersionDto(((Number) row[0]).longValue(),
+                        Instant.ofEpochMilli(((Number) row[1]).longValue())));
+    }
+
     public PagedResult<HotelDto> findWithFilters(int page, int size, String city, String countryCode,
                                                  BigDecimal minRating, BigDecimal maxRating, Integer minStars, Integer maxStars) {
-        StringBuilder queryBuilder = new StringBuilder("1=1");
         Map<String, Object> params = new HashMap<>();
+        String where = filterClause(params, false, city, countryCode, minRating, maxRating, minStars, maxStars);
+
+        List<Hotel> hotels = find(where, LISTING_ORDER, params)
+                .page(Page.of(page, size))
+                .list();
+
+        return toPagedResult(hotels, page, size, () -> {
+            Map<String, Object> nativeParams = new HashMap<>();
+            String nativeWhere = filterClause(nativeParams, true, city, countryCode, minRating, maxRating, minStars, maxStars);
+            return countStrategy.count("hotels:" + new TreeMap<>(nativeParams), "FROM hotels WHERE " + nativeWhere, nativeParams);
+        });
+    }
+
+    /**
+     * Keyset variant of {@link #findWithFilters}: hotels ordered by rating (unrated last), then
+     * id, continuing after the cursor. No count query is run and the cost of a page does not
+     * depend on how deep it is.
+     *
+     * @param cursor nextCursor of the previous page, or an empty string for the first page
+     */
+    public PagedResult<HotelDto> findWithFiltersAfter(String cursor, int size, String city, String countryCode,
+                                                      BigDecimal minRating, BigDecimal maxRating,
+                                                      Integer minStars, Integer maxStars) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder(
+                filterClause(params, false, city, countryCode, minRating, maxRating, minStars, maxStars));
+
+        if (!cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, "hotels", 2);
+            params.put("lastId", Long.valueOf(keys[1]));
+            if (keys[0].isEmpty()) {
+                where.append(" AND rating IS NULL AND id > :lastId");
+            } else {
+                where.append(" AND (rating < :lastRating OR (rating = :lastRating AND id > :lastId) OR rating IS NULL)");
+                params.put("lastRating", new BigDecimal(keys[0]));
+            }
+        }
+
+        List<Hotel> hotels = find(where.toString(), LISTING_ORDER, params)
+                .range(0, size) // inclusive: one extra row tells whether another page follows
+                .list();
+
+        String nextCursor = null;
+        if (hotels.size() > size) {
+            hotels = hotels.subList(0, size);
+            Hotel last = hotels.get(size - 1);
+            nextCursor = PageCursor.encode("hotels", last.rating, last.id);
+        }
+        return PagedResult.ofCursor(toDtos(hotels), size, cursor.isEmpty(), nextCursor);
+    }
+
+    /**
+     * Filter predicate shared by the paged queries. Only the country column is named differently
+     * in HQL and SQL, so the same clause also serves the native count/estimate and facet queries.
+     */
+    String filterClause(Map<String, Object> params, boolean nativeSql, String city, String countryCode,
+                                BigDecimal minRating, BigDecimal maxRating, Integer minStars, Integer maxStars) {
+        StringBuilder queryBuilder = new StringBuilder("1=1");
 
         if (city != null && !city.trim().isEmpty()) {
             queryBuilder.append(" AND LOWER(city) LIKE LOWER(:city)");
             params.put("city", "%" + city + "%");
         }
         if (countryCode != null && !countryCode.trim().isEmpty()) {
-            queryBuilder.append(" AND LOWER(countryCode) = LOWER(:countryCode)");
+            queryBuilder.append(nativeSql
+                    ? " AND LOWER(country_code) = LOWER(:countryCode)"
+                    : " AND LOWER(countryCode) = LOWER(:countryCode)");
             params.put("countryCode", countryCode);
         }
         if (minRating != null) {
@@ -58,87 +181,228 @@ public class HotelRepository implements PanacheRepository<Hotel> {
             queryBuilder.append(" AND stars <= :maxStars");
             params.put("maxStars", maxStars);
         }
+        return queryBuilder.toString();
+    }
 
-        var query = find(queryBuilder.toString(), Sort.by("rating").descending(), params);
-        var pagedQuery = query.page(Page.of(page, size));
-        var hotels = pagedQuery.list().stream()
-                .map(h -> hotelMapper.toDto(h))
-                .collect(Collectors.toList());
+    /**
+     * Full-text search over the hotels' search_vector (name, city, address, description and
+     * the FR/ES translations), ranked with ts_rank. Every query term is matched as a prefix in
+     * the simple, English, French and Spanish configurations. When nothing matches, the
+     * query falls back to trigram similarity on name and city so that typos still find hotels.
+     */
+    public PagedResult<HotelDto> searchHotels(String query, int page, int size) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return new PagedResult<>(List.of(), page, size, 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Hotel> hotels = getEntityManager().createNativeQuery(
+                        "SELECT h.* FROM hotels h WHERE " + FULL_TEXT_MATCH + " " +
+                                "ORDER BY " + FULL_TEXT_SCORE + " DESC, " + RANK_TIE_BREAK, Hotel.class)
+                .setParameter("q", tsQuery)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+        boolean fullTextMatches = !hotels.isEmpty() || (page > 0 && !getEntityManager().createNativeQuery(
+                        "SELECT 1 FROM hotels h WHERE " + FULL_TEXT_MATCH)
+                .setParameter("q", tsQuery)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty());
+        if (fullTextMatches) {
+            return toPagedResult(hotels, page, size, () -> countStrategy.count(
+                    "search:" + tsQuery, "FROM hotels h WHERE " + FULL_TEXT_MATCH, Map.of("q", tsQuery)));
+        }
 
-        long totalCount = query.count();
-        return new PagedResult<>(hotels, page, size, totalCount);
+        String fuzzy = toFuzzyQuery(query);
+        @SuppressWarnings("unchecked")
+        List<Hotel> fuzzyHotels = getEntityManager().createNativeQuery(
+                        "SELECT h.* FROM hotels h WHERE " + FUZZY_MATCH + " " +
+                                "ORDER BY " + FUZZY_SCORE + " DESC, " + RANK_TIE_BREAK, Hotel.class)
+                .setParameter("q", fuzzy)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+        return toPagedResult(fuzzyHotels, page, size, () -> countStrategy.count(
+                "fuzzy:" + fuzzy, "FROM hotels h WHERE " + FUZZY_MATCH, Map.of("q", fuzzy)));
     }
 
-    public PagedResult<HotelDto> searchHotels(String query, int page, int size) {
-        String searchQuery = "LOWER(name) LIKE LOWER(:query) OR LOWER(description) LIKE LOWER(:query) OR LOWER(address) LIKE LOWER(:query) OR LOWER(city) LIKE LOWER(:query)";
-        Map<String, Object> params = Map.of("query", "%" + query + "%");
+    /**
+     * Keyset variant of {@link #searchHotels}: results in the same order (relevance score, then
+     * rating, then id), continuing after the cursor, without a count query. The cursor remembers
+     * whether the first page fell back to trigram matching so later pages stay in the same mode.
+     *
+     * @param cursor nextCursor of the previous page, or an empty string for the first page
+     */
+    public PagedResult<HotelDto> searchHotelsAfter(String query, String cursor, int size) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return PagedResult.ofCursor(List.of(), size, cursor.isEmpty(), null);
+        }
 
-        var hotelQuery = find(searchQuery, Sort.by("rating").descending(), params);
-        var pagedQuery = hotelQuery.page(Page.of(page, size));
-        var hotels = pagedQuery.list().stream()
-                .map(h -> hotelMapper.toDto(h))
+        boolean fuzzy = false;
+        String[] after = null;
+        if (!cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, "search", 4);
+            fuzzy = Boolean.parseBoolean(keys[0]);
+            after = Arrays.copyOfRange(keys, 1, keys.length);
+        }
+
+        List<Object[]> rows = scoredSearch(fuzzy ? toFuzzyQuery(query) : tsQuery, fuzzy, after, size + 1);
+        if (rows.isEmpty() && cursor.isEmpty()) {
+            fuzzy = true;
+            rows = scoredSearch(toFuzzyQuery(query), true, null, size + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Object[] last = rows.get(size - 1);
+            nextCursor = PageCursor.encode("search", fuzzy, last[1], last[2], last[0]);
+        }
+
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+        Map<Long, Hotel> hotelsById = ids.isEmpty() ? Map.of() : list("id in ?1", ids).stream()
+                .collect(Collectors.toMap(h -> h.id, h -> h));
+        List<Hotel> hotels = ids.stream().map(hotelsById::get).filter(h -> h != null).collect(Collectors.toList());
+        return PagedResult.ofCursor(toDtos(hotels), size, cursor.isEmpty(), nextCursor);
+    }
+
+    /**
+     * Ids, scores and ratings of matching hotels, best first, after the given (score, rating, id)
+     * position. A null rating sorts last, as in {@link #findWithFiltersAfter}.
+     *
+     * @param after score, rating (empty when null) and id of the last row of the previous page, or null
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> scoredSearch(String q, boolean fuzzy, String[] after, int limit) {
+        String match = fuzzy ? FUZZY_MATCH : FULL_TEXT_MATCH;
+        String score = fuzzy ? FUZZY_SCORE : FULL_TEXT_SCORE;
+        Map<String, Object> params = new HashMap<>();
+        params.put("q", q);
+        String keyset = "";
+        if (after != null) {
+            String sameScore = after[1].isEmpty()
+                    ? "h.rating IS NULL AND h.id > :lastId"
+                    : "h.rating < :lastRating OR (h.rating = :lastRating AND h.id > :lastId) OR h.rating IS NULL";
+            keyset = " AND (" + score + " < :lastScore OR (" + score + " = :lastScore AND (" + sameScore + ")))";
+            params.put("lastScore", Float.valueOf(after[0]));
+            params.put("lastId", Long.valueOf(after[2]));
+            if (!after[1].isEmpty()) {
+                params.put("lastRating", new BigDecimal(after[1]));
+            }
+        }
+
+        var nativeQuery = getEntityManager().createNativeQuery(
+                        "SELECT h.id, " + score + ", h.rating FROM hotels h WHERE " + match + keyset +
+                                " ORDER BY 2 DESC, " + RANK_TIE_BREAK)
+                .setMaxResults(limit);
+        params.forEach(nativeQuery::setParameter);
+        return nativeQuery.getResultList();
+    }
+
+    private static String toFuzzyQuery(String query) {
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Turn free text into a to_tsquery expression where every word must match as a prefix,
+     * e.g. {@code grand hot} becomes {@code grand:* & hot:*}. Anything but letters and digits is dropped
+     * so user input can never break the tsquery syntax.
+     */
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * A short page already tells the exact total, so the count strategy only runs for full
+     * pages or pages past the end.
+     */
+    private PagedResult<HotelDto> toPagedResult(List<Hotel> hotels, int page, int size,
+                                                Supplier<CountStrategy.Total> total) {
+        if (hotels.size() < size && (!hotels.isEmpty() || page == 0)) {
+            return new PagedResult<>(toDtos(hotels), page, size, (long) page * size + hotels.size(), true);
+        }
+        CountStrategy.Total counted = total.get();
+        return new PagedResult<>(toDtos(hotels), page, size, counted.value, counted.exact);
+    }
+
+    /**
+     * Load hotels by id and map them in the order of {@code ids}; ids of deleted hotels are skipped.
+     */
+    List<HotelDto> toDtosInOrder(List<Long> ids) {
+        return toDtosInOrder(ids, hotelMapper::toDto);
+    }
+
+    List<HotelDto> toDtosInOrder(List<Long> ids, Function<Hotel, HotelDto> mapper) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Hotel> byId = list("id in ?1", ids).stream()
+                .collect(Collectors.toMap(h -> h.id, h -> h));
+        return ids.stream()
+                .map(byId::get)
+                .filter(h -> h != null)
+                .map(mapper)
                 .collect(Collectors.toList());
+    }
 
-        long totalCount = hotelQuery.count();
-        return new PagedResult<>(hotels, page, size, totalCount);
+    private List<HotelDto> toDtos(List<Hotel> hotels) {
+        return hotels.stream()
+                .map(h -> hotelMapper.toDto(h))
+                .collect(Collectors.toList());
     }
 
 
+    /**
+     * Reads the trigger-maintained counters in {@code hotel_statistics}, summing each counter's
+     * stripes: the totals, one row per country and star rating, and the ten largest cities.
+     */
     public HotelStatisticsDto getHotelStatistics() {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager().createNativeQuery(
+                        "SELECT dimension, stat_key, SUM(hotel_count), SUM(rating_sum), SUM(rating_count) " +
+                                "FROM hotel_statistics WHERE dimension IN ('total', 'reviews', 'country', 'stars') " +
+                                "GROUP BY dimension, stat_key " +
+                                "HAVING dimension IN ('total', 'reviews') OR SUM(hotel_count) > 0 " +
+                                "UNION ALL (SELECT dimension, stat_key, SUM(hotel_count), SUM(rating_sum), SUM(rating_count) " +
+                                "FROM hotel_statistics WHERE dimension = 'city' GROUP BY dimension, stat_key " +
+                                "HAVING SUM(hotel_count) > 0 ORDER BY 3 DESC, stat_key LIMIT 10)")
+                .getResultList();
+
         var stats = new HotelStatisticsDto();
+        stats.hotelsByCountry = new HashMap<>();
+        stats.hotelsByCity = new LinkedHashMap<>();
+        var byStars = new TreeMap<Integer, Long>();
 
-        stats.totalHotels = count();
-
-        var avgRating = getEntityManager().createQuery(
-                        "SELECT AVG(h.rating) FROM Hotel h WHERE h.rating IS NOT NULL", Double.class)
-                .getSingleResult();
-        stats.averageRating = avgRating;
-
-        stats.maxStars = getEntityManager().createQuery(
-                        "SELECT MAX(h.stars) FROM Hotel h WHERE h.stars IS NOT NULL", Integer.class)
-                .getSingleResult();
-
-        stats.minStars = getEntityManager().createQuery(
-                        "SELECT MIN(h.stars) FROM Hotel h WHERE h.stars IS NOT NULL", Integer.class)
-                .getSingleResult();
-
-
-        stats.totalReviews = 0L;
-
-        stats.hotelsByCountry = getEntityManager().createQuery(
-                        "SELECT h.countryCode, COUNT(h) FROM Hotel h WHERE h.countryCode IS NOT NULL GROUP BY h.countryCode",
-                        Object[].class)
-                .getResultList().stream()
-                .collect(Collectors.toMap(
-                        arr -> (String) arr[0],
-                        arr -> ((Number) arr[1]).longValue()
-                ));
-
-        stats.hotelsByCity = getEntityManager().createQuery(
-                        "SELECT h.city, COUNT(h) FROM Hotel h WHERE h.city IS NOT NULL " +
-                                "GROUP BY h.city ORDER BY COUNT(h) DESC",
-                        Object[].class)
-                .setMaxResults(10)
-                .getResultList().stream()
-                .collect(Collectors.toMap(
-                        arr -> (String) arr[0],
-                        arr -> ((Number) arr[1]).longValue(),
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
-
-        stats.hotelsByStars = getEntityManager().createQuery(
-                        "SELECT h.stars, COUNT(h) FROM Hotel h WHERE h.stars IS NOT NULL " +
-                                "GROUP BY h.stars ORDER BY h.stars",
-                        Object[].class)
-                .getResultList().stream()
-                .collect(Collectors.toMap(
-                        arr -> (Integer) arr[0],
-                        arr -> ((Number) arr[1]).longValue(),
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
+        for (Object[] row : rows) {
+            String key = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            switch ((String) row[0]) {
+                case "total" -> {
+                    stats.totalHotels = count;
+                    long ratingCount = ((Number) row[4]).longValue();
+                    stats.averageRating = ratingCount == 0 ? null
+                            : ((Number) row[3]).doubleValue() / ratingCount;
+                }
+                case "reviews" -> stats.totalReviews = count;
+                case "country" -> stats.hotelsByCountry.put(key, count);
+                case "city" -> stats.hotelsByCity.put(key, count);
+                case "stars" -> byStars.put(Integer.valueOf(key), count);
+                default -> { }
+            }
+        }
 
+        stats.hotelsByStars = new LinkedHashMap<>(byStars);
+        stats.minStars = byStars.isEmpty() ? null : byStars.firstKey();
+        stats.maxStars = byStars.isEmpty() ? null : byStars.lastKey();
         return stats;
     }
 }
\ No newline at end of file
@@ -12,7 +12,8 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,7 +33,8 @@ public class HotelReviewRepository implements PanacheRepository<HotelReview> {
                 .getSingleResult();
 
         var reviews = entityManager.createQuery(
-                        "SELECT r FROM HotelReview r WHERE r.hotel.id = :hid ORDER BY r.createdAt DESC", HotelReview.class)
+                        "SELECT r FROM HotelReview r WHERE r.hotel.id = :hid ORDER BY r.createdAt DESC, r.id DESC",
+                        HotelReview.class)
                 .setParameter("hid", hotelId)
                 .setFirstResult(page * size)
                 .setMaxResults(size)
@@ -44,6 +46,47 @@ public class HotelReviewRepository implements PanacheRepository<HotelReview> {
         return new PagedResult<>(reviews, page, size, totalCount);
     }
 
+    /**
+     * Keyset variant of {@link #getHotelReviews}: newest first, continuing after the cursor,
+     * without a count query.
+     *
+     * @param cursor nextCursor of the previous page, or an empty string for the first page
+     */
+    public PagedResult<HotelReviewDto> getHotelReviewsAfter(Long hotelId, String cursor, int size) {
+        String keyset = "";
+        LocalDateTime lastCreatedAt = null;
+        Long lastId = null;
+        if (!cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, "reviews", 2);
+            try {
+                lastCreatedAt = LocalDateTime.parse(keys[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            lastId = Long.valueOf(keys[1]);
+            keyset = " AND (r.createdAt < :lastCreatedAt OR (r.createdAt = :lastCreatedAt AND r.id < :lastId))";
+        }
+
+        var query = entityManager.createQuery(
+                        "SELECT r FROM HotelReview r WHERE r.hotel.id = :hid" + keyset +
+                                " ORDER BY r.createdAt DESC, r.id DESC", HotelReview.class)
+                .setParameter("hid", hotelId)
+                .setMaxResults(size + 1);
+        if (lastCreatedAt != null) {
+            query.setParameter("lastCreatedAt", lastCreatedAt).setParameter("lastId", lastId);
+        }
+        List<HotelReview> reviews = query.getResultList();
+
+        String nextCursor = null;
+        if (reviews.size() > size) {
+            reviews = reviews.subList(0, size);
+            HotelReview last = reviews.get(size - 1);
+            nextCursor = PageCursor.encode("reviews", last.createdAt, last.id);
+        }
+        return PagedResult.ofCursor(reviews.stream().map(r -> reviewMapper.toDto(r)).collect(Collectors.toList()),
+                size, cursor.isEmpty(), nextCursor);
+    }
+
     @Transactional
     public void deleteByHotel(Hotel hotel) {
         entityManager.createQuery("DELETE FROM HotelReview r WHERE r.hotel = :hotel")
@@ -51,11 +94,6 @@ public class HotelReviewRepository implements PanacheRepository<HotelReview> {
                 .executeUpdate();
     }
 
-    public long getTotalReviewsCount() {
-        return entityManager.createQuery("SELECT COUNT(r) FROM HotelReview r", Long.class)
-                .getSingleResult();
-    }
-
     public List<HotelReview> findByHotel(Hotel hotel) {
         return entityManager.createQuery("SELECT r FROM HotelReview r WHERE r.hotel = :hotel", HotelReview.class)
                 .setParameter("hotel", hotel)
@@ -64,33 +102,30 @@ public class HotelReviewRepository implements PanacheRepository<HotelReview> {
 
     @Transactional
     public void updateHotelReviews(Hotel hotel, List<CupidReviewDto> reviewDtos) {
-        hotel = entityManager.getReference(Hotel.class, hotel.id);
+        Hotel owner = entityManager.getReference(Hotel.class, hotel.id);
 
-        for (var existing : List.copyOf(hotel.reviews)) {
-            hotel.reviews.remove(existing);
-            entityManager.remove(existing);
-        }
-        entityManager.flush();
+        ChildCollectionMerger.merge(owner.reviews, reviewDtos,
+                r -> r.cupidReviewId,
+                rd -> rd.reviewId,
+                () -> {
+                    var r = new HotelReview();
+                    r.hotel = owner;
+                    return r;
+                },
+                (r, rd) -> {
+                    r.cupidReviewId = rd.reviewId;
+                    r.averageScore = ChildCollectionMerger.decimal(r.averageScore, rd.averageScore);
+                    r.country = rd.country;
+                    r.type = rd.type;
+                    r.name = rd.name;
+                    r.date = rd.date;
+                    r.headline = rd.headline;
+                    r.language = rd.language;
+                    r.pros = rd.pros;
+                    r.cons = rd.cons;
+                    r.source = rd.source;
+                });
 
-        if (reviewDtos == null) return;
-
-        for (var rd : reviewDtos) {
-            var r = new HotelReview();
-            r.id = null;  // important
-            r.hotel = hotel;
-            r.cupidReviewId = rd.reviewId;
-            r.averageScore = rd.averageScore != null ? BigDecimal.valueOf(rd.averageScore) : null;
-            r.country = rd.country;
-            r.type = rd.type;
-            r.name = rd.name;
-            r.date = rd.date;
-            r.headline = rd.headline;
-            r.language = rd.language;
-            r.pros = rd.pros;
-            r.cons = rd.cons;
-            r.source = rd.source;
-            hotel.reviews.add(r);
-        }
         entityManager.flush();
     }
 }
\ No newline at end of file
@@ -8,15 +8,21 @@ import com.hotelhub.entity.HotelRoomAmenity;
 import com.hotelhub.entity.HotelRoomBedType;
 import com.hotelhub.entity.HotelRoomPhoto;
 import com.hotelhub.entity.HotelRoomView;
+import com.hotelhub.mapper.HotelRoomAmenityMapper;
+import com.hotelhub.mapper.HotelRoomBedTypeMapper;
 import com.hotelhub.mapper.HotelRoomMapper;
+import com.hotelhub.mapper.HotelRoomPhotoMapper;
+import com.hotelhub.mapper.HotelRoomViewMapper;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
-import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -28,6 +34,23 @@ public class HotelRoomRepository implements PanacheRepository<HotelRoom> {
     @Inject
     HotelRoomMapper roomMapper;
 
+    @Inject
+    HotelRoomBedTypeMapper bedTypeMapper;
+
+    @Inject
+    HotelRoomAmenityMapper amenityMapper;
+
+    @Inject
+    HotelRoomPhotoMapper photoMapper;
+
+    @Inject
+    HotelRoomViewMapper viewMapper;
+
+    /**
+     * Load all rooms of a hotel with their children. Each child table is read once for
+     * every room of the hotel (room_id IN ...) and grouped in memory, so the number of
+     * statements stays at five no matter how many rooms the hotel has.
+     */
     public List<HotelRoomDto> getHotelRooms(Long hotelId) {
         var rooms = entityManager.createQuery(
                         "SELECT r FROM HotelRoom r WHERE r.hotel.id = :hid ORDER BY r.roomName ASC",
@@ -35,124 +58,149 @@ public class HotelRoomRepository implements PanacheRepository<HotelRoom> {
                 .setParameter("hid", hotelId)
                 .getResultList();
 
+        if (rooms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> roomIds = rooms.stream().map(room -> room.id).collect(Collectors.toList());
+
+        Map<Long, List<HotelRoomBedType>> bedTypes = groupByRoom(entityManager.createQuery(
+                        "SELECT bt FROM HotelRoomBedType bt WHERE bt.room.id IN :rids",
+                        HotelRoomBedType.class)
+                .setParameter("rids", roomIds)
+                .getResultList(), bt -> bt.room.id);
+
+        Map<Long, List<HotelRoomAmenity>> amenities = groupByRoom(entityManager.createQuery(
+                        "SELECT a FROM HotelRoomAmenity a WHERE a.room.id IN :rids ORDER BY a.sortOrder ASC",
+                        HotelRoomAmenity.class)
+                .setParameter("rids", roomIds)
+                .getResultList(), a -> a.room.id);
+
+        Map<Long, List<HotelRoomPhoto>> photos = groupByRoom(entityManager.createQuery(
+                        "SELECT p FROM HotelRoomPhoto p WHERE p.room.id IN :rids " +
+                                "ORDER BY p.mainPhoto DESC, p.score DESC",
+                        HotelRoomPhoto.class)
+                .setParameter("rids", roomIds)
+                .getResultList(), p -> p.room.id);
+
+        Map<Long, List<HotelRoomView>> views = groupByRoom(entityManager.createQuery(
+                        "SELECT v FROM HotelRoomView v WHERE v.room.id IN :rids",
+                        HotelRoomView.class)
+                .setParameter("rids", roomIds)
+                .getResultList(), v -> v.room.id);
+
         return rooms.stream()
                 .map(room -> {
-                    room.bedTypes = entityManager.createQuery(
-                                    "SELECT bt FROM HotelRoomBedType bt WHERE bt.room.id = :rid",
-                                    HotelRoomBedType.class)
-                            .setParameter("rid", room.id)
-                            .getResultList();
-
-                    room.amenities = entityManager.createQuery(
-                                    "SELECT a FROM HotelRoomAmenity a WHERE a.room.id = :rid ORDER BY a.sortOrder ASC",
-                                    HotelRoomAmenity.class)
-                            .setParameter("rid", room.id)
-                            .getResultList();
-
-                    room.photos = entityManager.createQuery(
-                                    "SELECT p FROM HotelRoomPhoto p WHERE p.room.id = :rid " +
-                                            "ORDER BY p.mainPhoto DESC, p.score DESC",
-                                    HotelRoomPhoto.class)
-                            .setParameter("rid", room.id)
-                            .getResultList();
-
-                    room.views = entityManager.createQuery(
-                                    "SELECT v FROM HotelRoomView v WHERE v.room.id = :rid",
-                                    HotelRoomView.class)
-                            .setParameter("rid", room.id)
-                            .getResultList();
-
-                    return roomMapper.toDto(room);
+                    HotelRoomDto dto = roomMapper.toDtoWithoutChildren(room);
+                    dto.bedTypes = bedTypes.getOrDefault(room.id, List.of()).stream()
+                            .map(bedTypeMapper::toDto).collect(Collectors.toList());
+                    dto.amenities = amenities.getOrDefault(room.id, List.of()).stream()
+                            .map(amenityMapper::toDto).collect(Collectors.toList());
+                    dto.photos = photos.getOrDefault(room.id, List.of()).stream()
+                            .map(photoMapper::toDto).collect(Collectors.toList());
+                    dto.views = views.getOrDefault(room.id, List.of()).stream()
+                            .map(viewMapper::toDto).collect(Collectors.toList());
+                    return dto;
                 })
                 .collect(Collectors.toList());
     }
 
+    // Keeps the query order within each room
+    private static <T> Map<Long, List<T>> groupByRoom(List<T> children, Function<T, Long> roomId) {
+        return children.stream().collect(Collectors.groupingBy(roomId, Collectors.toList()));
+    }
+
     @Transactional
     public void updateHotelRooms(Hotel hotel, List<CupidPropertyDto.Room> roomDtos) {
-        hotel = entityManager.getReference(Hotel.class, hotel.id);
+        Hotel owner = entityManager.getReference(Hotel.class, hotel.id);
+
+        ChildCollectionMerger.merge(owner.rooms, roomDtos,
+                room -> room.cupidRoomId,
+                dto -> dto.id,
+                () -> {
+                    HotelRoom room = new HotelRoom();
+                    room.hotel = owner;
+                    return room;
+                },
+                this::applyRoom);
 
-        for (var existing : List.copyOf(hotel.rooms)) {
-            hotel.rooms.remove(existing);
-            entityManager.remove(existing);
-        }
         entityManager.flush();
+    }
 
-        if (roomDtos == null || roomDtos.isEmpty()) return;
-
-        for (var dto : roomDtos) {
-            HotelRoom room = new HotelRoom();
-            room.id = null;
-            room.hotel = hotel;
-            room.cupidRoomId = dto.id;
-            room.roomName = dto.roomName;
-            room.description = dto.description;
-            room.roomSizeSquare = dto.roomSizeSquare != null ? dto.roomSizeSquare.intValue() : null;
-            room.roomSizeUnit = dto.roomSizeUnit;
-            room.maxAdults = dto.maxAdults;
-            room.maxChildren = dto.maxChildren;
-            room.maxOccupancy = dto.maxOccupancy;
-            room.bedRelation = dto.bedRelation;
-
-            // bed types
-            if (dto.bedTypes != null) {
-                for (var b : dto.bedTypes) {
+    private void applyRoom(HotelRoom room, CupidPropertyDto.Room dto) {
+        room.cupidRoomId = dto.id;
+        room.roomName = dto.roomName;
+        room.description = dto.description;
+        room.roomSizeSquare = dto.roomSizeSquare != null ? dto.roomSizeSquare.intValue() : null;
+        room.roomSizeUnit = dto.roomSizeUnit;
+        room.maxAdults = dto.maxAdults;
+        room.maxChildren = dto.maxChildren;
+        room.maxOccupancy = dto.maxOccupancy;
+        room.bedRelation = dto.bedRelation;
+
+        // bed types
+        ChildCollectionMerger.merge(room.bedTypes, dto.bedTypes,
+                bt -> Arrays.asList(bt.bedType, bt.bedSize),
+                b -> Arrays.asList(b.bedType, b.bedSize),
+                () -> {
                     var bt = new HotelRoomBedType();
-                    bt.id = null;
                     bt.room = room;
+                    return bt;
+                },
+                (bt, b) -> {
                     bt.quantity = b.quantity;
                     bt.bedType = b.bedType;
                     bt.bedSize = b.bedSize;
-                    room.bedTypes.add(bt);
-                }
-            }
+                });
 
-            // amenities
-            if (dto.roomAmenities != null) {
-                for (var a : dto.roomAmenities) {
+        // amenities
+        ChildCollectionMerger.merge(room.amenities, dto.roomAmenities,
+                amenity -> amenity.amenityId,
+                a -> a.amenitiesId,
+                () -> {
                     var amenity = new HotelRoomAmenity();
-                    amenity.id = null;
                     amenity.room = room;
+                    return amenity;
+                },
+                (amenity, a) -> {
                     amenity.amenityId = a.amenitiesId;
                     amenity.name = a.name;
                     amenity.sortOrder = a.sort;
-                    room.amenities.add(amenity);
-                }
-            }
+                });
 
-            // photos
-            if (dto.photos != null) {
-                for (var p : dto.photos) {
+        // photos
+        ChildCollectionMerger.merge(room.photos, dto.photos,
+                photo -> photo.url,
+                p -> p.url,
+                () -> {
                     var photo = new HotelRoomPhoto();
-                    photo.id = null;
                     photo.room = room;
+                    return photo;
+                },
+                (photo, p) -> {
                     photo.url = p.url;
                     photo.hdUrl = p.hdUrl;
                     photo.imageDescription = p.imageDescription;
                     photo.imageClass1 = p.imageClass1;
                     photo.imageClass2 = p.imageClass2;
                     photo.mainPhoto = p.mainPhoto;
-                    photo.score = p.score != null ? BigDecimal.valueOf(p.score) : null;
+                    photo.score = ChildCollectionMerger.decimal(photo.score, p.score);
                     photo.classId = p.classId;
                     photo.classOrder = p.classOrder;
-                    room.photos.add(photo);
-                }
-            }
+                });
 
-            // views
-            if (dto.views != null) {
-                for (var v : dto.views) {
+        // views
+        ChildCollectionMerger.merge(room.views, dto.views,
+                view -> view.viewId,
+                v -> v.id,
+                () -> {
                     var view = new HotelRoomView();
-                    view.id = null;
                     view.room = room;
+                    return view;
+                },
+                (view, v) -> {
                     view.viewId = v.id;
                     view.view = v.view;
-                    room.views.add(view);
-                }
-            }
-
-            hotel.rooms.add(room);
-        }
-
-        entityManager.flush();
+                });
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.hotelhub.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque keyset cursor: the sort key of the last row of a page, prefixed with the kind of
+ * listing it belongs to, encoded as URL-safe Base64. Clients must treat it as a token.
+ */
+final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    static String encode(String kind, Object... keys) {
+        String raw = kind + SEPARATOR + Arrays.stream(keys)
+                .map(key -> key == null ? "" : key.toString())
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort keys of the cursor; empty strings stand for null keys
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another listing
+     */
+    static String[] decode(String cursor, String kind, int keyCount) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != keyCount + 1 || !parts[0].equals(kind)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+}
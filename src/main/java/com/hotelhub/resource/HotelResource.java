@@ -1,19 +1,33 @@
 package com.hotelhub.resource;
 
+import com.hotelhub.cache.HotelCacheWarmer;
+import com.hotelhub.cache.HotelVersions;
+import com.hotelhub.cache.ResponseBodyCache;
+import com.hotelhub.dto.HotelFacetFilter;
+import com.hotelhub.dto.HotelVersionDto;
+import com.hotelhub.dto.PagedResult;
 import com.hotelhub.service.HotelRetrievalService;
 import com.hotelhub.service.HotelSearchService;
 import com.hotelhub.service.HotelService;
 import jakarta.inject.Inject;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
@@ -21,6 +35,12 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Path("/api/v1/hotels")
 @Produces(MediaType.APPLICATION_JSON)
@@ -28,6 +48,9 @@ import java.math.BigDecimal;
 @Tag(name = "Hotels", description = "Hotel management and search operations")
 public class HotelResource {
 
+    private static final String CURSOR_DESCRIPTION = "Keyset paging: pass an empty value for the first page, then the "
+            + "returned nextCursor. Replaces page and skips the total count.";
+
     @Inject
     HotelService hotelService;
 
@@ -37,10 +60,22 @@ public class HotelResource {
     @Inject
     HotelRetrievalService hotelRetrievalService;
 
+    @Inject
+    ResponseBodyCache responseBodyCache;
+
+    @Inject
+    HotelVersions hotelVersions;
+
+    @Inject
+    HotelCacheWarmer cacheWarmer;
+
     @GET
     @Operation(summary = "Get all hotels", description = "Retrieve a paginated list of all hotels with optional filtering")
     @APIResponse(responseCode = "200", description = "Hotels retrieved successfully")
-    public Response getAllHotels(@Parameter(description = "Page number (0-based)") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Number of items per page") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size, @Parameter(description = "Filter by city") @QueryParam("city") String city, @Parameter(description = "Filter by country code") @QueryParam("country") String countryCode, @Parameter(description = "Minimum rating") @QueryParam("minRating") BigDecimal minRating, @Parameter(description = "Maximum rating") @QueryParam("maxRating") BigDecimal maxRating, @Parameter(description = "Minimum stars") @QueryParam("minStars") Integer minStars, @Parameter(description = "Maximum stars") @QueryParam("maxStars") Integer maxStars) {
+    public Response getAllHotels(@Parameter(description = "Page number (0-based)") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Number of items per page") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size, @Parameter(description = "Filter by city") @QueryParam("city") String city, @Parameter(description = "Filter by country code") @QueryParam("country") String countryCode, @Parameter(description = "Minimum rating") @QueryParam("minRating") BigDecimal minRating, @Parameter(description = "Maximum rating") @QueryParam("maxRating") BigDecimal maxRating, @Parameter(description = "Minimum stars") @QueryParam("minStars") Integer minStars, @Parameter(description = "Maximum stars") @QueryParam("maxStars") Integer maxStars, @Parameter(description = CURSOR_DESCRIPTION) @QueryParam("cursor") String cursor) {
+        if (cursor != null) {
+            return cursorPage(() -> hotelSearchService.getHotelsWithFiltersAfter(cursor, size, city, countryCode, minRating, maxRating, minStars, maxStars));
+        }
         var hotels = hotelSearchService.getHotelsWithFilters(page, size, city, countryCode, minRating, maxRating, minStars, maxStars);
         return Response.ok(hotels).build();
     }
@@ -50,27 +85,80 @@ public class HotelResource {
     @Operation(summary = "Get hotel by ID", description = "Retrieve detailed information about a specific hotel")
     @APIResponse(responseCode = "200", description = "Hotel found")
     @APIResponse(responseCode = "404", description = "Hotel not found")
-    public Response getHotelById(@Parameter(description = "Hotel ID") @PathParam("id") Long id) {
-        return hotelService.getHotelById(id).map(hotelDto -> Response.ok(hotelDto).build()).orElse(Response.status(Response.Status.NOT_FOUND).build());
+    @APIResponse(responseCode = "304", description = "Not modified since the given ETag or date")
+    public Response getHotelById(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding, @Context Request request) {
+        return cachedBody(id, request, "detail", acceptEncoding, () -> hotelService.getHotelById(id).orElse(null));
     }
 
     @GET
     @Path("/search")
     @Operation(summary = "Search hotels", description = "Search hotels by name, description, or location")
     @APIResponse(responseCode = "200", description = "Search results retrieved")
-    public Response searchHotels(@Parameter(description = "Search query") @QueryParam("q") String query, @Parameter(description = "Page number") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+    public Response searchHotels(@Parameter(description = "Search query") @QueryParam("q") String query, @Parameter(description = "Page number") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size, @Parameter(description = CURSOR_DESCRIPTION) @QueryParam("cursor") String cursor) {
+        if (cursor != null) {
+            return cursorPage(() -> hotelSearchService.searchHotelsAfter(query, cursor, size));
+        }
         var results = hotelSearchService.searchHotels(query, page, size);
         return Response.ok(results).build();
     }
 
+    @GET
+    @Path("/facets")
+    @Operation(summary = "Get hotels with facet counts", description = "A filtered page of hotels plus counts per stars, chain, hotel type, pets/child policy and facility")
+    @APIResponse(responseCode = "200", description = "Hotels and facet counts retrieved")
+    public Response getHotelsWithFacets(@Parameter(description = "Page number (0-based)") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Number of items per page") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size, @Parameter(description = "Filter by city") @QueryParam("city") String city, @Parameter(description = "Filter by country code") @QueryParam("country") String countryCode, @Parameter(description = "Minimum rating") @QueryParam("minRating") BigDecimal minRating, @Parameter(description = "Maximum rating") @QueryParam("maxRating") BigDecimal maxRating, @Parameter(description = "Minimum stars") @QueryParam("minStars") Integer minStars, @Parameter(description = "Maximum stars") @QueryParam("maxStars") Integer maxStars, @Parameter(description = "Filter by chain") @QueryParam("chain") String chain, @Parameter(description = "Filter by hotel type") @QueryParam("hotelType") String hotelType, @Parameter(description = "Filter by pets policy") @QueryParam("petsAllowed") Boolean petsAllowed, @Parameter(description = "Filter by child policy") @QueryParam("childAllowed") Boolean childAllowed, @Parameter(description = "Facility IDs the hotel must all offer (repeatable)") @QueryParam("facility") List<Integer> facilityIds) {
+        var filter = new HotelFacetFilter();
+        filter.city = city;
+        filter.countryCode = countryCode;
+        filter.minRating = minRating;
+        filter.maxRating = maxRating;
+        filter.minStars = minStars;
+        filter.maxStars = maxStars;
+        filter.chain = chain;
+        filter.hotelType = hotelType;
+        filter.petsAllowed = petsAllowed;
+        filter.childAllowed = childAllowed;
+        if (facilityIds != null) {
+            filter.facilityIds = facilityIds;
+        }
+        return Response.ok(hotelSearchService.getHotelsWithFacets(filter, page, size)).build();
+    }
+
+    @GET
+    @Path("/nearby")
+    @Operation(summary = "Find hotels near a point", description = "Hotels within a radius of a coordinate, nearest first, with keyset paging")
+    @APIResponse(responseCode = "200", description = "Hotels retrieved, each with distanceKm")
+    @APIResponse(responseCode = "400", description = "Missing or invalid coordinates, radius or cursor")
+    public Response findNearby(@Parameter(description = "Latitude") @QueryParam("lat") @NotNull @DecimalMin("-90") @DecimalMax("90") Double lat, @Parameter(description = "Longitude") @QueryParam("lon") @NotNull @DecimalMin("-180") @DecimalMax("180") Double lon, @Parameter(description = "Radius in kilometres") @QueryParam("radiusKm") @DefaultValue("5") @DecimalMin(value = "0", inclusive = false) @DecimalMax("500") double radiusKm, @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size, @Parameter(description = CURSOR_DESCRIPTION) @QueryParam("cursor") @DefaultValue("") String cursor) {
+        return cursorPage(() -> hotelSearchService.findNearby(lat, lon, radiusKm, cursor, size));
+    }
+
+    @GET
+    @Path("/within")
+    @Operation(summary = "Find hotels in a bounding box", description = "Hotels inside a latitude/longitude box, with keyset paging. A box with minLon greater than maxLon crosses the antimeridian.")
+    @APIResponse(responseCode = "200", description = "Hotels retrieved")
+    @APIResponse(responseCode = "400", description = "Missing or invalid bounds or cursor")
+    public Response findWithinBox(@Parameter(description = "South edge") @QueryParam("minLat") @NotNull @DecimalMin("-90") @DecimalMax("90") Double minLat, @Parameter(description = "West edge") @QueryParam("minLon") @NotNull @DecimalMin("-180") @DecimalMax("180") Double minLon, @Parameter(description = "North edge") @QueryParam("maxLat") @NotNull @DecimalMin("-90") @DecimalMax("90") Double maxLat, @Parameter(description = "East edge") @QueryParam("maxLon") @NotNull @DecimalMin("-180") @DecimalMax("180") Double maxLon, @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size, @Parameter(description = CURSOR_DESCRIPTION) @QueryParam("cursor") @DefaultValue("") String cursor) {
+        if (minLat > maxLat) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        return cursorPage(() -> hotelSearchService.findWithinBox(minLat, minLon, maxLat, maxLon, cursor, size));
+    }
+
     @GET
     @Path("/{id}/reviews")
     @Operation(summary = "Get hotel reviews", description = "Retrieve reviews for a specific hotel")
     @APIResponse(responseCode = "200", description = "Reviews retrieved")
     @APIResponse(responseCode = "404", description = "Hotel not found")
-    public Response getHotelReviews(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(description = "Page number") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("10") @Min(1) @Max(50) int size) {
-        var reviews = hotelRetrievalService.getHotelReviews(id, page, size);
-        return Response.ok(reviews).build();
+    @APIResponse(responseCode = "304", description = "Not modified since the given ETag or date")
+    public Response getHotelReviews(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(description = "Page number") @QueryParam("page") @DefaultValue("0") @Min(0) int page, @Parameter(description = "Page size") @QueryParam("size") @DefaultValue("10") @Min(1) @Max(50) int size, @Parameter(description = CURSOR_DESCRIPTION) @QueryParam("cursor") String cursor, @Context Request request) {
+        return conditional(id, request, "", version -> {
+            if (cursor != null) {
+                return cursorPage(() -> hotelRetrievalService.getHotelReviewsAfter(id, cursor, size));
+            }
+            var reviews = hotelRetrievalService.getHotelReviews(id, page, size);
+            return Response.ok(reviews).build();
+        });
     }
 
     @GET
@@ -78,9 +166,9 @@ public class HotelResource {
     @Operation(summary = "Get hotel translations", description = "Retrieve translations for a specific hotel")
     @APIResponse(responseCode = "200", description = "Translations retrieved")
     @APIResponse(responseCode = "404", description = "Hotel not found")
-    public Response getHotelTranslations(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(description = "Language code (fr, es)") @QueryParam("lang") String language) {
-        var translations = hotelRetrievalService.getHotelTranslations(id, language);
-        return Response.ok(translations).build();
+    @APIResponse(responseCode = "304", description = "Not modified since the given ETag or date")
+    public Response getHotelTranslations(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(description = "Language code (fr, es)") @QueryParam("lang") String language, @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding, @Context Request request) {
+        return cachedBody(id, request, "translations:" + language, acceptEncoding, () -> hotelRetrievalService.getHotelTranslations(id, language));
     }
 
     @GET
@@ -88,9 +176,9 @@ public class HotelResource {
     @Operation(summary = "Get hotel photos", description = "Retrieve photos for a specific hotel")
     @APIResponse(responseCode = "200", description = "Photos retrieved")
     @APIResponse(responseCode = "404", description = "Hotel not found")
-    public Response getHotelPhotos(@Parameter(description = "Hotel ID") @PathParam("id") Long id) {
-        var photos = hotelRetrievalService.getHotelPhotos(id);
-        return Response.ok(photos).build();
+    @APIResponse(responseCode = "304", description = "Not modified since the given ETag or date")
+    public Response getHotelPhotos(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding, @Context Request request) {
+        return cachedBody(id, request, "photos", acceptEncoding, () -> hotelRetrievalService.getHotelPhotos(id));
     }
 
     @GET
@@ -98,9 +186,9 @@ public class HotelResource {
     @Operation(summary = "Get hotel facilities", description = "Retrieve facilities for a specific hotel")
     @APIResponse(responseCode = "200", description = "Facilities retrieved")
     @APIResponse(responseCode = "404", description = "Hotel not found")
-    public Response getHotelFacilities(@Parameter(description = "Hotel ID") @PathParam("id") Long id) {
-        var facilities = hotelRetrievalService.getHotelFacilities(id);
-        return Response.ok(facilities).build();
+    @APIResponse(responseCode = "304", description = "Not modified since the given ETag or date")
+    public Response getHotelFacilities(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding, @Context Request request) {
+        return cachedBody(id, request, "facilities", acceptEncoding, () -> hotelRetrievalService.getHotelFacilities(id));
     }
 
     @GET
@@ -108,9 +196,9 @@ public class HotelResource {
     @Operation(summary = "Get hotel rooms", description = "Retrieve rooms for a specific hotel")
     @APIResponse(responseCode = "200", description = "Rooms retrieved")
     @APIResponse(responseCode = "404", description = "Hotel not found")
-    public Response getHotelRooms(@Parameter(description = "Hotel ID") @PathParam("id") Long id) {
-        var rooms = hotelService.getHotelRooms(id);
-        return Response.ok(rooms).build();
+    @APIResponse(responseCode = "304", description = "Not modified since the given ETag or date")
+    public Response getHotelRooms(@Parameter(description = "Hotel ID") @PathParam("id") Long id, @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding, @Context Request request) {
+        return cachedBody(id, request, "rooms", acceptEncoding, () -> hotelService.getHotelRooms(id));
     }
 
     @GET
@@ -121,4 +209,85 @@ public class HotelResource {
         var stats = hotelRetrievalService.getHotelStatistics();
         return Response.ok(stats).build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Per-hotel responses come from the serialized body cache and are written as bytes, gzipped
+     * when the client accepts it. A null entity means the hotel was not found.
+     */
+    private Response cachedBody(Long id, Request request, String resource, String acceptEncoding, Supplier<Object> loader) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return conditional(id, request, gzip ? "-gzip" : "", version -> {
+            ResponseBodyCache.Body body = responseBodyCache.get(id, resource + "@" + version, loader);
+            if (body == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+            if (gzip) {
+                return Response.ok(body.gzip(), MediaType.APPLICATION_JSON_TYPE)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+            return Response.ok(body.json(), MediaType.APPLICATION_JSON_TYPE)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        });
+    }
+
+    /**
+     * Answer If-None-Match / If-Modified-Since from the hotel's content version alone, before
+     * anything is loaded, and tag successful responses with a strong ETag and Last-Modified.
+     * The ETag is the version plus a suffix per encoding, since each encoding has different bytes.
+     *
+     * @param render builds the response for the given content version (0 when the hotel is unknown)
+     */
+    private Response conditional(Long id, Request request, String variant, Function<Long, Response> render) {
+        cacheWarmer.record(id);
+        Optional<HotelVersionDto> current = hotelVersions.current(id);
+        if (current.isEmpty()) {
+            return render.apply(0L);
+        }
+        HotelVersionDto version = current.get();
+        EntityTag etag = new EntityTag(version.version + variant);
+        Date lastModified = Date.from(version.modifiedAt.truncatedTo(ChronoUnit.SECONDS));
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+        if (notModified != null) {
+            return notModified.tag(etag).lastModified(lastModified)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        Response response = render.apply(version.version);
+        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+            return response;
+        }
+        return Response.fromResponse(response).tag(etag).lastModified(lastModified).build();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Response cursorPage(Supplier<PagedResult<?>> query) {
+        try {
+            return Response.ok(query.get()).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+    }
+}
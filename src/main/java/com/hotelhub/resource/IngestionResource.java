@@ -1,16 +1,24 @@
 package com.hotelhub.resource;
 
-import com.hotelhub.service.DataIngestionService;
+import com.hotelhub.dto.IngestionJobDto;
+import com.hotelhub.service.IngestionJob;
+import com.hotelhub.service.IngestionJobService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
@@ -23,31 +31,55 @@ import java.util.List;
 public class IngestionResource {
 
     @Inject
-    DataIngestionService dataIngestionService;
+    IngestionJobService ingestionJobService;
 
     @POST
     @Operation(
             summary = "Ingest hotel data",
-            description = "Ingest hotel data from Cupid API for the provided hotel IDs. This will fetch property details, reviews, and translations."
+            description = "Start a background job that ingests hotel data from Cupid API for the provided hotel IDs. This will fetch property details, reviews, and translations."
     )
     @APIResponse(
-            responseCode = "200",
-            description = "Data ingestion initiated successfully",
-            content = @Content(schema = @Schema(implementation = String.class))
+            responseCode = "202",
+            description = "Data ingestion job accepted",
+            content = @Content(schema = @Schema(implementation = IngestionJobDto.class))
     )
     @APIResponse(
-            responseCode = "500",
-            description = "Data ingestion failed",
+            responseCode = "400",
+            description = "Missing list of hotel IDs",
             content = @Content(schema = @Schema(implementation = String.class))
     )
     public Response ingestData(
             @Schema(description = "List of hotel IDs to ingest", example = "[1641879, 317597, 1202743]")
-            List<Long> hotelIds) {
-        try {
-            dataIngestionService.ingestHotelData(hotelIds);
-            return Response.ok("Data ingestion initiated successfully.").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("Data ingestion failed: " + e.getMessage()).build();
+            List<Long> hotelIds,
+            @Context UriInfo uriInfo) {
+        if (hotelIds == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("A list of hotel IDs is required").build();
         }
+        IngestionJob job = ingestionJobService.submit(hotelIds);
+        return Response.accepted(job.toDto())
+                .location(uriInfo.getAbsolutePathBuilder().path(job.getId()).build())
+                .build();
+    }
+
+    @GET
+    @Path("/{jobId}")
+    @Operation(summary = "Get ingestion job", description = "Report progress counters and throughput of an ingestion job")
+    @APIResponse(responseCode = "200", description = "Job found", content = @Content(schema = @Schema(implementation = IngestionJobDto.class)))
+    @APIResponse(responseCode = "404", description = "Job not found")
+    public Response getJob(@Parameter(description = "Ingestion job ID") @PathParam("jobId") String jobId) {
+        return ingestionJobService.findJob(jobId)
+                .map(job -> Response.ok(job.toDto()).build())
+                .orElse(Response.status(Response.Status.NOT_FOUND).build());
+    }
+
+    @DELETE
+    @Path("/{jobId}")
+    @Operation(summary = "Cancel ingestion job", description = "Stop an ingestion job; hotels already ingested are kept")
+    @APIResponse(responseCode = "200", description = "Cancellation requested", content = @Content(schema = @Schema(implementation = IngestionJobDto.class)))
+    @APIResponse(responseCode = "404", description = "Job not found")
+    public Response cancelJob(@Parameter(description = "Ingestion job ID") @PathParam("jobId") String jobId) {
+        return ingestionJobService.cancel(jobId)
+                .map(job -> Response.ok(job.toDto()).build())
+                .orElse(Response.status(Response.Status.NOT_FOUND).build());
     }
 }
@@ -1,23 +1,32 @@
 package com.hotelhub.service;
 
 import com.hotelhub.client.CupidApiClient;
+import com.hotelhub.client.CupidRateLimiter;
 import com.hotelhub.client.dto.CupidPropertyDto;
 import com.hotelhub.client.dto.CupidReviewDto;
 import com.hotelhub.entity.*;
 import com.hotelhub.service.HotelService;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicInteger;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 @ApplicationScoped
 public class DataIngestionService {
@@ -31,15 +40,15 @@ public class DataIngestionService {
     @Inject
     HotelService hotelService;
 
+    @Inject
+    CupidRateLimiter rateLimiter;
+
     @ConfigProperty(name = "cupid.api.max-retries", defaultValue = "5")
     int maxRetries;
 
     @ConfigProperty(name = "cupid.api.retry-delay", defaultValue = "2000")
     long retryDelay;
 
-    @ConfigProperty(name = "cupid.api.requests-per-minute", defaultValue = "60")
-    int requestsPerMinute;
-
     @ConfigProperty(name = "cupid.api.batch-delay", defaultValue = "1000")
     long batchDelay;
 
@@ -49,154 +58,156 @@ public class DataIngestionService {
     @ConfigProperty(name = "cupid.api.circuit-breaker-timeout", defaultValue = "300000")
     long circuitBreakerTimeout;
 
-    // Rate limiting state
-    private final AtomicLong lastRequestTime = new AtomicLong(0);
-    private final AtomicInteger requestCount = new AtomicInteger(0);
-    private final AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
+    @ConfigProperty(name = "cupid.ingestion.parallelism", defaultValue = "4")
+    int parallelism;
 
     // Circuit breaker state
     private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
     private final AtomicLong circuitOpenTime = new AtomicLong(0);
 
     public void ingestHotelData(List<Long> hotelIds) {
+        ingestHotelData(new IngestionJob(hotelIds));
+    }
 
-        LOG.info("Starting ingestion of " + hotelIds.size() + " hotel IDs with rate limiting");
-        int processed = 0;
-        int successful = 0;
-        int failed = 0;
-
-        for (Long hotelId : hotelIds) {
-            processed++;
-            
-            try {
-                // Apply rate limiting
-                applyRateLimit();
-                
-                // Check circuit breaker
-                if (isCircuitOpen()) {
-                    LOG.warn("Circuit breaker is open, skipping hotel ID: " + hotelId);
-                    failed++;
-                    continue;
-                }
-
-                LOG.info("Processing hotel " + processed + "/" + hotelIds.size() + ": ID " + hotelId);
-                
-                // Process individual hotel in separate transaction
-                ingestSingleHotel(hotelId);
-                successful++;
-                consecutiveFailures.set(0); // Reset failure count on success
-
-            } catch (Exception e) {
-                failed++;
-                consecutiveFailures.incrementAndGet();
-                
-                if (isRateLimitError(e)) {
-                    LOG.warn("Rate limit exceeded for hotel ID: " + hotelId + ". Backing off...", e);
-                    try {
-                        Thread.sleep(60000); // Wait 1 minute for rate limit reset
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                } else if (isTransientError(e)) {
-                    LOG.warn("Transient error for hotel ID: " + hotelId + ". Will continue with others: " + e.getMessage());
-                } else {
-                    LOG.error("Permanent error ingesting data for hotel ID: " + hotelId, e);
-                }
-                
-                // Check if we should open the circuit breaker
-                if (consecutiveFailures.get() >= circuitBreakerThreshold) {
-                    LOG.warn("Opening circuit breaker due to " + consecutiveFailures.get() + " consecutive failures");
-                    circuitOpenTime.set(System.currentTimeMillis());
-                }
-
-                // Add small delay between failures to prevent overwhelming the API
-                try {
-                    Thread.sleep(batchDelay);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
+    /**
+     * Ingests the hotels of a job, recording progress on it and stopping early
+     * once the job is cancelled.
+     */
+    public void ingestHotelData(IngestionJob job) {
+        List<Long> hotelIds = job.getHotelIds();
+        int workers = Math.max(1, Math.min(parallelism, hotelIds.size()));
+        LOG.info("Starting ingestion of " + hotelIds.size() + " hotel IDs with rate limiting (" + workers + " workers)");
+
+        if (workers == 1) {
+            // Nothing to fan out, keep the work on the caller thread
+            for (Long hotelId : hotelIds) {
+                if (!processHotel(hotelId, job)) {
                     break;
                 }
             }
-
-            // Add progress logging every 10 hotels
-            if (processed % 10 == 0) {
-                LOG.info("Progress: " + processed + "/" + hotelIds.size() + " processed (Success: " + successful + ", Failed: " + failed + ")");
-            }
+        } else {
+            ingestConcurrently(hotelIds, workers, job);
         }
 
-        LOG.info("Ingestion completed. Total: " + processed + ", Successful: " + successful + ", Failed: " + failed);
+        LOG.info("Ingestion completed. Total: " + job.processed.get() + ", Successful: " + job.successful.get() + ", Failed: " + job.failed.get());
     }
 
-    private <T> T executeWithRetry(java.util.function.Supplier<T> operation, String operationName) {
-        Exception lastException = null;
+    /**
+     * Fans the hotels out over a bounded pool of workers. The pool size caps the number of
+     * hotels in flight, while the shared rate limiter keeps the Cupid quota global.
+     */
+    private void ingestConcurrently(List<Long> hotelIds, int workers, IngestionJob job) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "cupid-ingestion-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
 
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                LOG.debug("Attempting " + operationName + " (attempt " + attempt + "/" + maxRetries + ")");
-                return operation.get();
-            } catch (Exception e) {
-                lastException = e;
-                LOG.warn("Attempt " + attempt + " failed for " + operationName + ": " + e.getMessage());
-
-                if (attempt < maxRetries) {
-                    try {
-                        Thread.sleep(retryDelay * attempt); // Exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("Interrupted while waiting to retry", ie);
-                    }
+        try {
+            List<Future<?>> futures = new ArrayList<>(hotelIds.size());
+            for (Long hotelId : hotelIds) {
+                // Queued hotels return immediately once the job is cancelled
+                futures.add(executor.submit(() -> processHotel(hotelId, job)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOG.error("Unexpected ingestion worker failure", e.getCause());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        } finally {
+            executor.shutdown();
         }
-        throw new RuntimeException("Failed after " + maxRetries + " attempts: " + operationName, lastException);
     }
 
-    private void applyRateLimit() {
-        long currentTime = System.currentTimeMillis();
-        long windowDuration = 60000; // 1 minute in milliseconds
-
-        // Reset window if it's been more than a minute
-        long windowStartTime = windowStart.get();
-        if (currentTime - windowStartTime >= windowDuration) {
-            windowStart.set(currentTime);
-            requestCount.set(0);
+    /**
+     * Ingests one hotel, applying rate limiting, circuit breaking and error classification.
+     *
+     * @return {@code false} when the worker was interrupted or the job cancelled and the batch should stop
+     */
+    private boolean processHotel(Long hotelId, IngestionJob job) {
+        if (job.isCancelRequested() || Thread.currentThread().isInterrupted()) {
+            return false;
         }
+        int processed = job.processed.incrementAndGet();
 
-        // Check if we've exceeded the rate limit
-        int currentRequests = requestCount.get();
-        if (currentRequests >= requestsPerMinute) {
-            long waitTime = windowDuration - (currentTime - windowStartTime);
-            if (waitTime > 0) {
-                LOG.info("Rate limit reached (" + requestsPerMinute + " requests/minute). Waiting " + waitTime + " ms");
-                try {
-                    Thread.sleep(waitTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted while waiting for rate limit reset", e);
-                }
-                // Reset the window after waiting
-                windowStart.set(System.currentTimeMillis());
-                requestCount.set(0);
+        try {
+            // Check circuit breaker
+            if (isCircuitOpen()) {
+                LOG.warn("Circuit breaker is open, skipping hotel ID: " + hotelId);
+                job.failed.incrementAndGet();
+                return true;
             }
-        }
 
-        // Increment request count and add delay between requests
-        requestCount.incrementAndGet();
-        
-        // Add minimum delay between requests to be gentle on the API
-        long timeSinceLastRequest = currentTime - lastRequestTime.get();
-        long minDelay = 1000; // 1 second minimum between requests
-        if (timeSinceLastRequest < minDelay) {
+            LOG.info("Processing hotel " + processed + "/" + job.getTotal() + ": ID " + hotelId);
+
+            // Process individual hotel in separate transaction
+            ingestSingleHotel(hotelId);
+            job.successful.incrementAndGet();
+            consecutiveFailures.set(0); // Reset failure count on success
+
+        } catch (Exception e) {
+            job.failed.incrementAndGet();
+            consecutiveFailures.incrementAndGet();
+
+            if (isRateLimitError(e)) {
+                // The rate controller has already slowed down and paused the limiter
+                LOG.warn("Rate limit exceeded for hotel ID: " + hotelId + ": " + e.getMessage());
+            } else if (isTransientError(e)) {
+                LOG.warn("Transient error for hotel ID: " + hotelId + ". Will continue with others: " + e.getMessage());
+            } else {
+                LOG.error("Permanent error ingesting data for hotel ID: " + hotelId, e);
+            }
+
+            // Check if we should open the circuit breaker
+            if (consecutiveFailures.get() >= circuitBreakerThreshold) {
+                LOG.warn("Opening circuit breaker due to " + consecutiveFailures.get() + " consecutive failures");
+                circuitOpenTime.set(System.currentTimeMillis());
+            }
+
+            // Add small delay between failures to prevent overwhelming the API
             try {
-                Thread.sleep(minDelay - timeSinceLastRequest);
-            } catch (InterruptedException e) {
+                Thread.sleep(batchDelay);
+            } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while applying rate limit delay", e);
+                return false;
             }
         }
-        
-        lastRequestTime.set(System.currentTimeMillis());
+
+        // Add progress logging every 10 hotels
+        if (processed % 10 == 0) {
+            LOG.info("Progress: " + processed + "/" + job.getTotal() + " processed (Success: " + job.successful.get() + ", Failed: " + job.failed.get() + ")");
+        }
+        return true;
+    }
+
+    private <T> Uni<T> withRetry(Supplier<Uni<T>> operation, String operationName) {
+        // Every attempt takes its own token; waiting for it is a timer, not a blocked thread
+        Uni<T> call = Uni.createFrom().deferred(() -> {
+            Duration wait = rateLimiter.reserve();
+            if (wait.isZero()) {
+                LOG.debug("Requesting " + operationName);
+                return operation.get();
+            }
+            LOG.debug("Rate limited, delaying " + operationName + " by " + wait.toMillis() + " ms");
+            return Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(wait)
+                    .onItem().transformToUni(ignored -> operation.get());
+        });
+        if (maxRetries > 1) {
+            call = call
+                    .onFailure().invoke(e -> LOG.warn("Attempt failed for " + operationName + ": " + e.getMessage()))
+                    .onFailure().retry()
+                    .withBackOff(Duration.ofMillis(retryDelay), Duration.ofMillis(retryDelay * maxRetries))
+                    .atMost(maxRetries - 1);
+        }
+        return call.onFailure().transform(e ->
+                new RuntimeException("Failed after " + maxRetries + " attempts: " + operationName, e));
     }
 
     private boolean isCircuitOpen() {
@@ -217,13 +228,12 @@ public class DataIngestionService {
     }
 
     private boolean isRateLimitError(Exception e) {
-        String message = e.getMessage();
-        if (message != null) {
-            String lowerMessage = message.toLowerCase();
-            return lowerMessage.contains("rate limit") || 
-                   lowerMessage.contains("429") || 
-                   lowerMessage.contains("too many requests") ||
-                   lowerMessage.contains("quota exceeded");
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebApplicationException webException
+                    && webException.getResponse() != null
+                    && webException.getResponse().getStatus() == 429) {
+                return true;
+            }
         }
         return false;
     }
@@ -247,52 +257,42 @@ public class DataIngestionService {
         return false;
     }
 
-    @Transactional
-    public void ingestSingleHotel(Long hotelId) throws Exception {
-        // Fetch property details with retry
-        CupidPropertyDto property = executeWithRetry(() -> {
-            var response = cupidApiClient.getPropertyById(hotelId);
-            if (response == null) {
-                throw new RuntimeException("Empty response from Cupid API for hotel ID: " + hotelId);
-            }
-            return response;
-        }, "property data for hotel " + hotelId);
-
-        // Use service layer for hotel management
-        Hotel hotel = hotelService.findByCupidId(hotelId);
-        if (hotel == null) {
-            hotel = hotelService.createFromCupidData(property);
-        } else {
-            hotel = hotelService.updateFromCupidData(hotel, property);
-        }
-
-        // Use service layer for related data updates
-        // Fetch and update reviews using service layer
-        var reviews = executeWithRetry(() -> cupidApiClient.getReviewsByPropertyId(hotelId),
-            "reviews for hotel " + hotelId);
-
-        // Fetch translations using service layer
-        CupidPropertyDto frenchData = null;
-        CupidPropertyDto spanishData = null;
-
-        try {
-            frenchData = executeWithRetry(() ->
-                cupidApiClient.getTranslationByPropertyIdAndLanguage(hotelId, "fr"),
-                "French translation for hotel " + hotelId);
-        } catch (Exception e) {
-            LOG.warn("Failed to fetch French translation for hotel " + hotelId, e);
-        }
-
-        try {
-            spanishData = executeWithRetry(() ->
-                cupidApiClient.getTranslationByPropertyIdAndLanguage(hotelId, "es"),
-                "Spanish translation for hotel " + hotelId);
-        } catch (Exception e) {
-            LOG.warn("Failed to fetch Spanish translation for hotel " + hotelId, e);
-        }
-
-        hotelService.updateHotelCompleteData(hotel, property, reviews, frenchData, spanishData);
+    /**
+     * Fetches the property, its reviews and the FR/ES translations concurrently, then writes
+     * everything in one short transaction so no pooled connection is held during HTTP I/O.
+     */
+    public void ingestSingleHotel(Long hotelId) {
+        Uni<CupidPropertyDto> property = withRetry(() -> cupidApiClient.getPropertyByIdAsync(hotelId)
+                        .onItem().ifNull().failWith(() ->
+                                new RuntimeException("Empty response from Cupid API for hotel ID: " + hotelId)),
+                "property data for hotel " + hotelId);
+
+        Uni<List<CupidReviewDto>> reviews = withRetry(() -> cupidApiClient.getReviewsByPropertyIdAsync(hotelId),
+                "reviews for hotel " + hotelId);
+
+        // Translations are optional, a failure only drops that language
+        Uni<CupidPropertyDto> frenchData = withRetry(() ->
+                        cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(hotelId, "fr"),
+                "French translation for hotel " + hotelId)
+                .onFailure().recoverWithItem(e -> {
+                    LOG.warn("Failed to fetch French translation for hotel " + hotelId, e);
+                    return null;
+                });
+
+        Uni<CupidPropertyDto> spanishData = withRetry(() ->
+                        cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(hotelId, "es"),
+                "Spanish translation for hotel " + hotelId)
+                .onFailure().recoverWithItem(e -> {
+                    LOG.warn("Failed to fetch Spanish translation for hotel " + hotelId, e);
+                    return null;
+                });
+
+        var data = Uni.combine().all().unis(property, reviews, frenchData, spanishData)
+                .asTuple()
+                .await().indefinitely();
+
+        hotelService.upsertCompleteData(hotelId, data.getItem1(), data.getItem2(), data.getItem3(), data.getItem4());
 
         LOG.info("Successfully ingested data for hotel ID: " + hotelId);
     }
-}
\ No newline at end of file
+}
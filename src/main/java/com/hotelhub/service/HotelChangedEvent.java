@@ -0,0 +1,15 @@
+package com.hotelhub.service;
+
+/**
+ * CDI event fired whenever a hotel or any of its related data is created, updated or deleted.
+ * Observers that need the committed state should use {@code TransactionPhase.AFTER_SUCCESS}.
+ * A null {@code hotelId} means all hotels changed.
+ */
+public class HotelChangedEvent {
+
+    public final Long hotelId;
+
+    public HotelChangedEvent(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+}
@@ -1,16 +1,18 @@
 package com.hotelhub.service;
 
+import com.hotelhub.cache.HotelDetailOffHeapCache;
+import com.hotelhub.cache.HotelReadCoalescer;
 import com.hotelhub.dto.HotelDto;
 import com.hotelhub.dto.HotelRoomDto;
 import com.hotelhub.entity.Hotel;
 import com.hotelhub.mapper.HotelMapper;
+import com.hotelhub.repository.HotelDetailRepository;
 import com.hotelhub.repository.HotelRepository;
 import com.hotelhub.repository.HotelRoomRepository;
-import io.quarkus.cache.CacheInvalidate;
-import io.quarkus.cache.CacheInvalidateAll;
 import io.quarkus.cache.CacheKey;
 import io.quarkus.cache.CacheResult;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
@@ -35,7 +37,16 @@ public class HotelCoreService {
     HotelMapper hotelMapper;
 
     @Inject
-    HotelRetrievalService hotelRetrievalService;
+    HotelDetailRepository hotelDetailRepository;
+
+    @Inject
+    HotelDetailOffHeapCache hotelDetailOffHeapCache;
+
+    @Inject
+    HotelReadCoalescer readCoalescer;
+
+    @Inject
+    Event<HotelChangedEvent> hotelChanged;
 
     /**
      * Create a new hotel from DTO
@@ -44,6 +55,7 @@ public class HotelCoreService {
     public HotelDto createHotel(HotelDto hotelDto) {
         Hotel hotel = hotelMapper.toEntity(hotelDto);
         hotelRepository.persist(hotel);
+        hotelChanged.fire(new HotelChangedEvent(hotel.id));
         return hotelMapper.toDto(hotel);
     }
 
@@ -53,6 +65,7 @@ public class HotelCoreService {
     @Transactional
     public Hotel createHotel(Hotel hotel) {
         hotelRepository.persistAndFlush(hotel);
+        hotelChanged.fire(new HotelChangedEvent(hotel.id));
         return hotel;
     }
 
@@ -66,41 +79,44 @@ public class HotelCoreService {
     }
 
     /**
-     * Get hotel by ID with caching
+     * Get hotel by ID with caching: hot entries from the hotel-by-id cache, warm ones from
+     * the off-heap tier and only the rest from the database, once for concurrent misses
      */
     @CacheResult(cacheName = "hotel-by-id")
     public Optional<HotelDto> getHotelById(@CacheKey Long id) {
-        Hotel hotel = hotelRetrievalService.findByIdWithRelations(id);
-        return hotel != null ? Optional.of(hotelMapper.toDto(hotel)) : Optional.empty();
+        return readCoalescer.load(id, "detail", () -> hotelDetailOffHeapCache.get(id, hotelDetailRepository::findHotelDetail));
     }
 
     /**
-     * Update hotel with cache invalidation
+     * Update hotel; cached entries are evicted once the change commits
      */
     @Transactional
-    @CacheInvalidate(cacheName = "hotel-by-id")
-    public Optional<HotelDto> updateHotel(@CacheKey Long id, HotelDto hotelDto) {
+    public Optional<HotelDto> updateHotel(Long id, HotelDto hotelDto) {
         return hotelRepository.findByIdOptional(id)
                 .map(hotel -> {
                     hotelMapper.updateEntityFromDto(hotelDto, hotel);
                     hotelRepository.flush();
+                    hotelChanged.fire(new HotelChangedEvent(id));
                     return hotelMapper.toDto(hotel);
                 });
     }
 
     /**
-     * Delete hotel with cache invalidation
+     * Delete hotel; cached entries are evicted once the change commits
      */
     @Transactional
-    @CacheInvalidate(cacheName = "hotel-by-id")
-    public boolean deleteHotel(@CacheKey Long id) {
-        return hotelRepository.deleteById(id);
+    public boolean deleteHotel(Long id) {
+        boolean deleted = hotelRepository.deleteById(id);
+        if (deleted) {
+            hotelChanged.fire(new HotelChangedEvent(id));
+        }
+        return deleted;
     }
 
     @Transactional
-    @CacheInvalidateAll(cacheName = "hotel-by-id")
     public void deleteAllHotels() {
         hotelRepository.deleteAll();
+        hotelChanged.fire(new HotelChangedEvent(null));
     }
 
     /**
@@ -111,14 +127,17 @@ public class HotelCoreService {
     }
 
     /**
-     * Get hotel rooms by hotel ID
+     * Get hotel rooms by hotel ID, cached like HotelRetrievalService.getHotelRooms
      */
+    @CacheResult(cacheName = "hotel-rooms")
     public List<HotelRoomDto> getHotelRooms(Long hotelId) {
-        // Validate hotel exists first
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return List.of();
-        }
-        return hotelRoomRepository.getHotelRooms(hotelId);
+        return readCoalescer.load(hotelId, "rooms", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return List.of();
+            }
+            return hotelRoomRepository.getHotelRooms(hotelId);
+        });
     }
 }
\ No newline at end of file
@@ -11,11 +11,13 @@ import com.hotelhub.repository.HotelRepository;
 import com.hotelhub.repository.HotelReviewRepository;
 import com.hotelhub.repository.HotelRoomRepository;
 import com.hotelhub.repository.HotelTranslationRepository;
-import io.quarkus.cache.CacheInvalidate;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -49,14 +51,20 @@ public class HotelDataIngestionService {
     @Inject
     HotelMapper hotelMapper;
 
+    @Inject
+    CupidContentHasher contentHasher;
+
+    @Inject
+    Event<HotelChangedEvent> hotelChanged;
+
     /**
      * Create hotel from Cupid API data
      */
     @Transactional
-    @CacheInvalidate(cacheName = "hotel-by-id")
     public Hotel createFromCupidData(CupidPropertyDto cupidData) {
         Hotel hotel = hotelMapper.toEntity(cupidData);
         hotelRepository.persist(hotel);
+        hotelChanged.fire(new HotelChangedEvent(hotel.id));
         return hotel;
     }
 
@@ -64,46 +72,90 @@ public class HotelDataIngestionService {
      * Update existing hotel with Cupid API data
      */
     @Transactional
-    @CacheInvalidate(cacheName = "hotel-by-id")
     public Hotel updateFromCupidData(Hotel hotel, CupidPropertyDto cupidData) {
         hotelMapper.updateEntityFromCupidDto(cupidData, hotel);
+        hotelChanged.fire(new HotelChangedEvent(hotel.id));
         return hotel;
     }
 
     /**
-     * Update hotel with all related data from Cupid API
+     * Create or update a hotel with all related data in a single write transaction.
+     * All remote data is expected to be fetched beforehand.
      */
-    @CacheInvalidate(cacheName = "hotel-by-id")
     @Transactional
-    public void updateHotelCompleteData(Hotel hotel, CupidPropertyDto propertyData,
-                                        List<CupidReviewDto> reviews,
-                                        CupidPropertyDto frenchData,
-                                        CupidPropertyDto spanishData) {
+    public Hotel upsertCompleteData(Long cupidId, CupidPropertyDto propertyData,
+                                    List<CupidReviewDto> reviews,
+                                    CupidPropertyDto frenchData,
+                                    CupidPropertyDto spanishData) {
+        Hotel hotel = hotelRepository.findByCupidId(cupidId);
+        if (hotel == null) {
+            hotel = createFromCupidData(propertyData);
+        }
+        updateHotelCompleteData(hotel, propertyData, reviews, frenchData, spanishData);
+        return hotel;
+    }
 
-        updateBasicHotelData(hotel, propertyData);
+    /**
+     * Update hotel with all related data from Cupid API.
+     * Payload hashes are compared with the ones stored on the hotel so only the parts that
+     * changed are written; an unchanged hotel only gets its syncedAt bumped.
+     *
+     * @return true if any hotel data was written
+     */
+    @Transactional
+    public boolean updateHotelCompleteData(Hotel hotel, CupidPropertyDto propertyData,
+                                           List<CupidReviewDto> reviews,
+                                           CupidPropertyDto frenchData,
+                                           CupidPropertyDto spanishData) {
+
+        String propertyHash = contentHasher.hash(propertyData);
+        String reviewsHash = contentHasher.hash(reviews);
+        String translationsHash = contentHasher.hash(Arrays.asList(frenchData, spanishData));
+
+        boolean propertyChanged = !propertyHash.equals(hotel.propertyHash);
+        boolean reviewsChanged = !reviewsHash.equals(hotel.reviewsHash);
+        boolean translationsChanged = !translationsHash.equals(hotel.translationsHash);
         Long hotelId = hotel.id;
 
-        if (propertyData.photos != null && !propertyData.photos.isEmpty()) {
-            updatePhotos(hotelId, propertyData.photos);
+        if (!propertyChanged && !reviewsChanged && !translationsChanged) {
+            hotelRepository.markSynced(hotelId, LocalDateTime.now());
+            return false;
         }
 
-        if (propertyData.facilities != null && !propertyData.facilities.isEmpty()) {
-            updateFacilities(hotelId, propertyData.facilities);
-        }
+        if (propertyChanged) {
+            updateBasicHotelData(hotel, propertyData);
 
-        if (propertyData.policies != null && !propertyData.policies.isEmpty()) {
-            updatePolicies(hotelId, propertyData.policies);
-        }
+            if (propertyData.photos != null && !propertyData.photos.isEmpty()) {
+                updatePhotos(hotelId, propertyData.photos);
+            }
 
-        if (propertyData.rooms != null && !propertyData.rooms.isEmpty()) {
-            updateRooms(hotelId, propertyData.rooms);
+            if (propertyData.facilities != null && !propertyData.facilities.isEmpty()) {
+                updateFacilities(hotelId, propertyData.facilities);
+            }
+
+            if (propertyData.policies != null && !propertyData.policies.isEmpty()) {
+                updatePolicies(hotelId, propertyData.policies);
+            }
+
+            if (propertyData.rooms != null && !propertyData.rooms.isEmpty()) {
+                updateRooms(hotelId, propertyData.rooms);
+            }
         }
 
-        if (reviews != null && !reviews.isEmpty()) {
+        if (reviewsChanged && reviews != null && !reviews.isEmpty()) {
             updateReviews(hotelId, reviews);
         }
 
-        updateTranslations(hotelId, frenchData, spanishData);
+        if (translationsChanged) {
+            updateTranslations(hotelId, frenchData, spanishData);
+        }
+
+        hotel.propertyHash = propertyHash;
+        hotel.reviewsHash = reviewsHash;
+        hotel.translationsHash = translationsHash;
+        hotel.syncedAt = LocalDateTime.now();
+        hotelChanged.fire(new HotelChangedEvent(hotelId));
+        return true;
     }
 
 
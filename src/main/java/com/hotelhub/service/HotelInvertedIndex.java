@@ -0,0 +1,241 @@
+package com.hotelhub.service;
+
+import com.hotelhub.dto.PagedResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over hotel text.
+ * Every hotel gets a dense document number; each term keeps a sorted int[] of the documents
+ * containing it together with the best field weight it was found in. Query terms are matched
+ * as prefixes (like the database search) and all of them must match. Results are ordered by
+ * summed field weight, then rating, then hotel id.
+ * Reads share a read lock; updates replace a single document under the write lock.
+ */
+public class HotelInvertedIndex {
+
+    public static final int WEIGHT_NAME = 4;
+    public static final int WEIGHT_CITY = 3;
+    public static final int WEIGHT_ADDRESS = 2;
+    public static final int WEIGHT_TEXT = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> docByHotel = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] hotelIds = new long[1024];
+    private double[] ratings = new double[1024];
+    private String[][] docTerms = new String[1024][];
+    private int nextDoc;
+
+    /**
+     * Add or replace a hotel.
+     */
+    public void put(Document document) {
+        long hotelId = document.hotelId;
+        Map<String, Integer> terms = document.terms;
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByHotel.get(hotelId);
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                removeTerms(doc);
+            } else {
+                doc = nextDoc++;
+                ensureCapacity(doc + 1);
+                docByHotel.put(hotelId, doc);
+                hotelIds[doc] = hotelId;
+            }
+            ratings[doc] = document.rating;
+            docTerms[doc] = terms.keySet().toArray(new String[0]);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, weight));
+            live.set(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long hotelId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByHotel.remove(hotelId);
+            if (doc != null) {
+                removeTerms(doc);
+                docTerms[doc] = null;
+                live.clear(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByHotel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the hotel ids matching every query term.
+     */
+    public PagedResult<Long> search(String query, int page, int size) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return new PagedResult<>(List.of(), page, size, 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+            int[] scores = new int[nextDoc];
+            for (String queryTerm : queryTerms) {
+                BitSet termMatches = new BitSet(nextDoc);
+                int[] termScores = new int[nextDoc];
+                for (Postings posting : prefixRange(queryTerm).values()) {
+                    for (int i = 0; i < posting.size; i++) {
+                        int doc = posting.docs[i];
+                        if (matches.get(doc)) {
+                            termMatches.set(doc);
+                            termScores[doc] = Math.max(termScores[doc], posting.weights[i]);
+                        }
+                    }
+                }
+                matches.and(termMatches);
+                if (matches.isEmpty()) {
+                    return new PagedResult<>(List.of(), page, size, 0);
+                }
+                for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                    scores[doc] += termScores[doc];
+                }
+            }
+
+            List<Integer> ranked = new ArrayList<>(matches.cardinality());
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                ranked.add(doc);
+            }
+            ranked.sort(Comparator.<Integer>comparingInt(doc -> scores[doc]).reversed()
+                    .thenComparing(Comparator.<Integer>comparingDouble(doc -> ratings[doc]).reversed())
+                    .thenComparingLong(doc -> hotelIds[doc]));
+
+            int from = Math.min(page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            List<Long> ids = new ArrayList<>(to - from);
+            for (int doc : ranked.subList(from, to)) {
+                ids.add(hotelIds[doc]);
+            }
+            return new PagedResult<>(ids, page, size, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; the same tokenization the database search uses.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private NavigableMap<String, Postings> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void removeTerms(int doc) {
+        for (String term : docTerms[doc]) {
+            Postings posting = postings.get(term);
+            if (posting != null && posting.remove(doc) && posting.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > hotelIds.length) {
+            int newLength = Math.max(capacity, hotelIds.length * 2);
+            hotelIds = Arrays.copyOf(hotelIds, newLength);
+            ratings = Arrays.copyOf(ratings, newLength);
+            docTerms = Arrays.copyOf(docTerms, newLength);
+        }
+    }
+
+    /**
+     * The text of one hotel, each piece tagged with the weight of the field it came from.
+     */
+    public static final class Document {
+        final long hotelId;
+        final double rating;
+        final Map<String, Integer> terms = new LinkedHashMap<>();
+
+        public Document(long hotelId, Double rating) {
+            this.hotelId = hotelId;
+            this.rating = rating != null ? rating : 0;
+        }
+
+        public Document add(String text, int weight) {
+            for (String term : tokenize(text)) {
+                terms.merge(term, weight, Math::max);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Sorted document numbers of one term, with the best field weight per document.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        byte[] weights = new byte[4];
+        int size;
+
+        void add(int doc, int weight) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                weights[index] = (byte) Math.max(weights[index], weight);
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            docs[insertAt] = doc;
+            weights[insertAt] = (byte) weight;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
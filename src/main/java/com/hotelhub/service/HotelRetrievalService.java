@@ -1,7 +1,7 @@
 package com.hotelhub.service;
 
+import com.hotelhub.cache.HotelReadCoalescer;
 import com.hotelhub.dto.*;
-import com.hotelhub.entity.Hotel;
 import com.hotelhub.repository.HotelRepository;
 import com.hotelhub.repository.HotelReviewRepository;
 import com.hotelhub.repository.HotelTranslationRepository;
@@ -39,87 +39,83 @@ public class HotelRetrievalService {
     @Inject
     HotelPolicyRepository hotelPolicyRepository;
 
+    @Inject
+    HotelReadCoalescer readCoalescer;
+
     @CacheResult(cacheName = "hotel-reviews")
     public PagedResult<HotelReviewDto> getHotelReviews(Long hotelId, int page, int size) {
-        // Validate hotel exists first
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return new PagedResult<>(List.of(), page, size, 0);
-        }
-        return hotelReviewRepository.getHotelReviews(hotelId, page, size);
+        return readCoalescer.load(hotelId, "reviews", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return new PagedResult<>(List.of(), page, size, 0);
+            }
+            return hotelReviewRepository.getHotelReviews(hotelId, page, size);
+        }, page, size);
+    }
+
+    @CacheResult(cacheName = "hotel-reviews")
+    public PagedResult<HotelReviewDto> getHotelReviewsAfter(Long hotelId, String cursor, int size) {
+        return readCoalescer.load(hotelId, "reviewsAfter", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return PagedResult.ofCursor(List.of(), size, cursor.isEmpty(), null);
+            }
+            return hotelReviewRepository.getHotelReviewsAfter(hotelId, cursor, size);
+        }, cursor, size);
     }
 
     @CacheResult(cacheName = "hotel-translations")
     public List<HotelTranslationDto> getHotelTranslations(Long hotelId, String language) {
-        // Validate hotel exists first
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return List.of();
-        }
-        return hotelTranslationRepository.getHotelTranslations(hotelId, language);
+        return readCoalescer.load(hotelId, "translations", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return List.of();
+            }
+            return hotelTranslationRepository.getHotelTranslations(hotelId, language);
+        }, language);
     }
 
     @CacheResult(cacheName = "hotel-photos")
     public List<HotelPhotoDto> getHotelPhotos(Long hotelId) {
-        // Validate hotel exists first
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return List.of();
-        }
-        return hotelPhotoRepository.getHotelPhotos(hotelId);
+        return readCoalescer.load(hotelId, "photos", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return List.of();
+            }
+            return hotelPhotoRepository.getHotelPhotos(hotelId);
+        });
     }
 
     @CacheResult(cacheName = "hotel-facilities")
     public List<HotelFacilityDto> getHotelFacilities(Long hotelId) {
-        // Validate hotel exists first
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return List.of();
-        }
-        return hotelFacilityRepository.getHotelFacilities(hotelId);
+        return readCoalescer.load(hotelId, "facilities", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return List.of();
+            }
+            return hotelFacilityRepository.getHotelFacilities(hotelId);
+        });
     }
 
     @CacheResult(cacheName = "hotel-rooms")
     public List<HotelRoomDto> getHotelRooms(Long hotelId) {
-        // Validate hotel exists first
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return List.of();
-        }
-        return hotelRoomRepository.getHotelRooms(hotelId);
+        return readCoalescer.load(hotelId, "rooms", () -> {
+            // Validate hotel exists first
+            var hotel = hotelRepository.findById(hotelId);
+            if (hotel == null) {
+                return List.of();
+            }
+            return hotelRoomRepository.getHotelRooms(hotelId);
+        });
     }
 
     @CacheResult(cacheName = "hotel-statistics")
     public HotelStatisticsDto getHotelStatistics() {
-        var stats = hotelRepository.getHotelStatistics();
-        // Set the total reviews count from the review repository
-        stats.totalReviews = hotelReviewRepository.getTotalReviewsCount();
-        return stats;
-    }
-
-    public Hotel findByIdWithRelations(Long hotelId) {
-        var hotel = hotelRepository.findById(hotelId);
-        if (hotel == null) {
-            return null;
-        }
-
-        // Eagerly initialize all relations to avoid LazyInitializationException
-        // This ensures the Hotel entity can be safely used outside transaction boundaries
-        hotel.photos.size();
-        hotel.facilities.size();
-        hotel.reviews.size();
-        hotel.rooms.size();
-        hotel.translations.size();
-        hotel.policies.size();
-        
-        // Also initialize nested collections in rooms
-        for (var room : hotel.rooms) {
-            room.bedTypes.size();
-            room.amenities.size();
-            room.photos.size();
-            room.views.size();
-        }
-        
-        return hotel;
+        return readCoalescer.load("statistics", hotelRepository::getHotelStatistics);
     }
 }
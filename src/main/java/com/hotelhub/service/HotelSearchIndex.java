@@ -0,0 +1,171 @@
+package com.hotelhub.service;
+
+import com.hotelhub.dto.PagedResult;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelTranslation;
+import com.hotelhub.repository.HotelRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Optional in-process search index answering hotel search without a database round trip.
+ * It is built from the hotels table on a background thread after startup, so startup does not
+ * wait for it, and kept current from {@link HotelChangedEvent}s once the writing transaction
+ * has committed. Until the initial build has finished, {@link #isReady()} is false and search
+ * goes to the database. Hotels that change while the build runs are indexed again once it has
+ * finished, since the build may have read them before the change.
+ */
+@ApplicationScoped
+public class HotelSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(HotelSearchIndex.class);
+
+    @ConfigProperty(name = "hotel.search.in-memory-index.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.search.in-memory-index.build-batch-size", defaultValue = "500")
+    int buildBatchSize;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    private final HotelInvertedIndex index = new HotelInvertedIndex();
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+    private volatile boolean ready;
+    private ExecutorService executor;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        building = true;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hotel-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::build);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public PagedResult<Long> search(String query, int page, int size) {
+        return index.search(query, page, size);
+    }
+
+    private void build() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Search keeps going to the database
+            LOG.warnf(e, "Failed to build the search index");
+            changedDuringBuild.clear();
+            return;
+        } finally {
+            building = false;
+        }
+        for (Long hotelId : changedDuringBuild) {
+            changedDuringBuild.remove(hotelId);
+            onHotelChanged(new HotelChangedEvent(hotelId));
+        }
+    }
+
+    /**
+     * Load every hotel, page by page, into the index.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int pageIndex = 0;
+        List<Hotel> hotels;
+        do {
+            hotels = hotelRepository.findAll(Sort.by("id"))
+                    .page(Page.of(pageIndex++, buildBatchSize))
+                    .list();
+            index(hotels);
+            hotelRepository.getEntityManager().clear();
+        } while (hotels.size() == buildBatchSize);
+
+        ready = true;
+        LOG.infof("Search index built with %d hotels in %d ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangedEvent event) {
+        if (!enabled || event.hotelId == null) {
+            return;
+        }
+        if (building) {
+            changedDuringBuild.add(event.hotelId);
+        }
+        try {
+            reindex(event.hotelId);
+        } catch (Exception e) {
+            // The index is a cache of the database; a missed update is repaired by the next write
+            LOG.warnf(e, "Failed to update search index for hotel %d", event.hotelId);
+        }
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void reindex(Long hotelId) {
+        Hotel hotel = hotelRepository.findById(hotelId);
+        if (hotel == null) {
+            index.remove(hotelId);
+        } else {
+            index(List.of(hotel));
+        }
+    }
+
+    private void index(List<Hotel> hotels) {
+        if (hotels.isEmpty()) {
+            return;
+        }
+        List<Long> ids = hotels.stream().map(h -> h.id).collect(Collectors.toList());
+        Map<Long, List<HotelTranslation>> translations = hotelRepository.getEntityManager()
+                .createQuery("SELECT t FROM HotelTranslation t WHERE t.hotel.id IN :ids", HotelTranslation.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.groupingBy(t -> t.hotel.id));
+
+        for (Hotel hotel : hotels) {
+            var document = new HotelInvertedIndex.Document(hotel.id,
+                    hotel.rating != null ? hotel.rating.doubleValue() : null)
+                    .add(hotel.name, HotelInvertedIndex.WEIGHT_NAME)
+                    .add(hotel.city, HotelInvertedIndex.WEIGHT_CITY)
+                    .add(hotel.address, HotelInvertedIndex.WEIGHT_ADDRESS)
+                    .add(hotel.description, HotelInvertedIndex.WEIGHT_TEXT);
+            for (HotelTranslation translation : translations.getOrDefault(hotel.id, List.of())) {
+                document.add(translation.translatedName, HotelInvertedIndex.WEIGHT_NAME)
+                        .add(translation.translatedAddress, HotelInvertedIndex.WEIGHT_ADDRESS)
+                        .add(translation.translatedDescription, HotelInvertedIndex.WEIGHT_TEXT);
+            }
+            index.put(document);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.hotelhub.service;
 
 import com.hotelhub.dto.HotelDto;
+import com.hotelhub.dto.HotelFacetFilter;
+import com.hotelhub.dto.HotelFacetsDto;
 import com.hotelhub.dto.PagedResult;
+import com.hotelhub.repository.HotelFacetRepository;
+import com.hotelhub.repository.HotelGeoRepository;
 import com.hotelhub.repository.HotelRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class HotelSearchService {
@@ -14,13 +21,70 @@ public class HotelSearchService {
     @Inject
     HotelRepository hotelRepository;
 
+    @Inject
+    HotelGeoRepository hotelGeoRepository;
+
+    @Inject
+    HotelFacetRepository hotelFacetRepository;
+
+    @Inject
+    HotelSearchIndex searchIndex;
+
+    @Inject
+    HotelCoreService hotelCoreService;
+
     public PagedResult<HotelDto> searchHotels(String query, int page, int size) {
         if (query == null || query.trim().isEmpty()) {
                         return getHotelsWithFilters(page, size, null, null, (BigDecimal) null, (BigDecimal) null, null, null);
         }
+        if (searchIndex.isReady()) {
+            return searchInMemory(query, page, size);
+        }
         return hotelRepository.searchHotels(query, page, size);
     }
 
+    /**
+     * Resolve the matches from the in-memory index through the cached hotel lookup, so a warm
+     * search never reaches the database.
+     */
+    private PagedResult<HotelDto> searchInMemory(String query, int page, int size) {
+        PagedResult<Long> hits = searchIndex.search(query, page, size);
+        List<HotelDto> hotels = hits.content.stream()
+                .map(hotelCoreService::getHotelById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        return new PagedResult<>(hotels, page, size, hits.totalElements);
+    }
+
+    /**
+     * Cursor-paged search; always served by the database, which can continue after a cursor.
+     */
+    public PagedResult<HotelDto> searchHotelsAfter(String query, String cursor, int size) {
+        if (query == null || query.trim().isEmpty()) {
+            return getHotelsWithFiltersAfter(cursor, size, null, null, null, null, null, null);
+        }
+        return hotelRepository.searchHotelsAfter(query, cursor, size);
+    }
+
+    public PagedResult<HotelDto> getHotelsWithFiltersAfter(String cursor, int size, String city, String countryCode,
+                                                           BigDecimal minRating, BigDecimal maxRating,
+                                                           Integer minStars, Integer maxStars) {
+        return hotelRepository.findWithFiltersAfter(cursor, size, city, countryCode, minRating, maxRating, minStars, maxStars);
+    }
+
+    public HotelFacetsDto getHotelsWithFacets(HotelFacetFilter filter, int page, int size) {
+        return hotelFacetRepository.findWithFacets(filter, page, size);
+    }
+
+    public PagedResult<HotelDto> findNearby(double lat, double lon, double radiusKm, String cursor, int size) {
+        return hotelGeoRepository.findNearby(lat, lon, radiusKm, cursor, size);
+    }
+
+    public PagedResult<HotelDto> findWithinBox(double minLat, double minLon, double maxLat, double maxLon,
+                                               String cursor, int size) {
+        return hotelGeoRepository.findWithinBox(minLat, minLon, maxLat, maxLon, cursor, size);
+    }
+
     public PagedResult<HotelDto> getHotelsWithFilters(int page, int size, String city, String countryCode,
                                                       BigDecimal minRating, BigDecimal maxRating, Integer minStars, Integer maxStars) {
         return hotelRepository.findWithFilters(page, size, city, countryCode, minRating, maxRating, minStars, maxStars);
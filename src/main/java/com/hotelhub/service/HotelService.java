@@ -69,10 +69,17 @@ public class HotelService {
         return dataIngestionService.updateFromCupidData(hotel, cupidData);
     }
 
-    public void updateHotelCompleteData(Hotel hotel, CupidPropertyDto propertyData, 
-                                       List<CupidReviewDto> reviews,
-                                       CupidPropertyDto frenchData, 
-                                       CupidPropertyDto spanishData) {
-        dataIngestionService.updateHotelCompleteData(hotel, propertyData, reviews, frenchData, spanishData);
+    public boolean updateHotelCompleteData(Hotel hotel, CupidPropertyDto propertyData,
+                                           List<CupidReviewDto> reviews,
+                                           CupidPropertyDto frenchData,
+                                           CupidPropertyDto spanishData) {
+        return dataIngestionService.updateHotelCompleteData(hotel, propertyData, reviews, frenchData, spanishData);
+    }
+
+    public Hotel upsertCompleteData(Long cupidId, CupidPropertyDto propertyData,
+                                    List<CupidReviewDto> reviews,
+                                    CupidPropertyDto frenchData,
+                                    CupidPropertyDto spanishData) {
+        return dataIngestionService.upsertCompleteData(cupidId, propertyData, reviews, frenchData, spanishData);
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.hotelhub.service;
+
+import com.hotelhub.dto.IngestionJobDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress and lifecycle of one ingestion run. Counters are updated concurrently by the
+ * ingestion workers and read by the status endpoint.
+ */
+public class IngestionJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final List<Long> hotelIds;
+    private final Instant submittedAt = Instant.now();
+
+    final AtomicInteger processed = new AtomicInteger();
+    final AtomicInteger successful = new AtomicInteger();
+    final AtomicInteger failed = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public IngestionJob(List<Long> hotelIds) {
+        this.id = UUID.randomUUID().toString();
+        this.hotelIds = List.copyOf(hotelIds);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<Long> getHotelIds() {
+        return hotelIds;
+    }
+
+    public int getTotal() {
+        return hotelIds.size();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.CANCELLED || status == Status.FAILED;
+    }
+
+    void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    void markStarted() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void markFinished() {
+        finishedAt = Instant.now();
+        status = cancelRequested ? Status.CANCELLED : Status.COMPLETED;
+    }
+
+    void markFailed(Throwable e) {
+        finishedAt = Instant.now();
+        error = e.getMessage();
+        status = Status.FAILED;
+    }
+
+    /**
+     * Request cancellation: workers stop picking up hotels and in-flight waits are interrupted.
+     */
+    void cancel() {
+        cancelRequested = true;
+        Future<?> running = future;
+        if (running != null && running.cancel(true) && startedAt == null) {
+            // Never got a worker thread, so nothing else will finish it
+            finishedAt = Instant.now();
+            status = Status.CANCELLED;
+        }
+    }
+
+    /**
+     * Processed hotels per minute since the job started.
+     */
+    public double getHotelsPerMinute() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0.0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return processed.get() * 60000.0 / millis;
+    }
+
+    public IngestionJobDto toDto() {
+        var dto = new IngestionJobDto();
+        dto.jobId = id;
+        dto.status = status.name();
+        dto.total = getTotal();
+        dto.processed = processed.get();
+        dto.successful = successful.get();
+        dto.failed = failed.get();
+        dto.hotelsPerMinute = getHotelsPerMinute();
+        dto.submittedAt = submittedAt;
+        dto.startedAt = startedAt;
+        dto.finishedAt = finishedAt;
+        dto.error = error;
+        return dto;
+    }
+}
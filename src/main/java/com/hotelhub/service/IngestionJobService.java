@@ -0,0 +1,101 @@
+package com.hotelhub.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs ingestion batches as background jobs on a dedicated executor, separate from the
+ * HTTP event loop and worker pool, and keeps their progress for status queries.
+ */
+@ApplicationScoped
+public class IngestionJobService {
+
+    private static final Logger LOG = Logger.getLogger(IngestionJobService.class);
+
+    @Inject
+    DataIngestionService dataIngestionService;
+
+    @ConfigProperty(name = "cupid.ingestion.max-concurrent-jobs", defaultValue = "2")
+    int maxConcurrentJobs;
+
+    @ConfigProperty(name = "cupid.ingestion.job-retention", defaultValue = "PT24H")
+    Duration jobRetention;
+
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        jobExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs), runnable -> {
+            Thread thread = new Thread(runnable, "ingestion-job-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    public IngestionJob submit(List<Long> hotelIds) {
+        pruneFinishedJobs();
+
+        IngestionJob job = new IngestionJob(hotelIds);
+        jobs.put(job.getId(), job);
+        job.attach(jobExecutor.submit(() -> run(job)));
+
+        LOG.info("Submitted ingestion job " + job.getId() + " for " + job.getTotal() + " hotel IDs");
+        return job;
+    }
+
+    public Optional<IngestionJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public Optional<IngestionJob> cancel(String jobId) {
+        IngestionJob job = jobs.get(jobId);
+        if (job != null && !job.isFinished()) {
+            LOG.info("Cancelling ingestion job " + jobId);
+            job.cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    private void run(IngestionJob job) {
+        if (job.isCancelRequested()) {
+            job.markFinished();
+            return;
+        }
+        job.markStarted();
+        try {
+            dataIngestionService.ingestHotelData(job);
+            job.markFinished();
+        } catch (Exception e) {
+            LOG.error("Ingestion job " + job.getId() + " failed", e);
+            job.markFailed(e);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished()
+                && job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotelhub.cache;
+
+import com.hotelhub.service.HotelChangedEvent;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.UserTransaction;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@QuarkusTest
+@TestProfile(TestCacheProfile.class)
+public class ClusterCacheInvalidationTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    Event<HotelChangedEvent> hotelChanged;
+
+    @Inject
+    UserTransaction userTransaction;
+
+    @InjectMock
+    HotelCacheCoordinator cacheCoordinator;
+
+    private void notifyFromOtherReplica(String target) throws Exception {
+        userTransaction.begin();
+        sendFromOtherReplica(target);
+        userTransaction.commit();
+    }
+
+    private void sendFromOtherReplica(String target) {
+        entityManager.createNativeQuery("SELECT CAST(pg_notify(:channel, :payload) AS TEXT)")
+                .setParameter("channel", ClusterCacheInvalidation.CHANNEL)
+                .setParameter("payload", "other-replica:" + target)
+                .getSingleResult();
+    }
+
+    @Test
+    public void testEvictsHotelsChangedOnOtherReplicas() throws Exception {
+        notifyFromOtherReplica("42");
+        notifyFromOtherReplica(ClusterCacheInvalidation.ALL_HOTELS);
+
+        verify(cacheCoordinator, timeout(5000)).evict(42L);
+        verify(cacheCoordinator, timeout(5000)).evictAll();
+    }
+
+    @Test
+    public void testSkipsOwnAndRolledBackChanges() throws Exception {
+        // Published by this replica: evicted locally already
+        userTransaction.begin();
+        hotelChanged.fire(new HotelChangedEvent(7L));
+        userTransaction.commit();
+
+        // Never delivered because the transaction rolls back
+        userTransaction.begin();
+        sendFromOtherReplica("8");
+        userTransaction.rollback();
+
+        // Delivered after the two above, so once it arrives they have been handled
+        notifyFromOtherReplica("9");
+        verify(cacheCoordinator, timeout(5000)).evict(9L);
+        verify(cacheCoordinator, never()).evict(7L);
+        verify(cacheCoordinator, never()).evict(8L);
+        verify(cacheCoordinator, never()).evictAll();
+    }
+}
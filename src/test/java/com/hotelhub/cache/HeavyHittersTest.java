@@ -0,0 +1,60 @@
+package com.hotelhub.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeavyHittersTest {
+
+    @Test
+    void testCountsExactlyBelowCapacity() {
+        HeavyHitters sketch = new HeavyHitters(10);
+        for (int i = 0; i < 5; i++) {
+            sketch.offer(1);
+        }
+        sketch.offer(2);
+        sketch.offer(2);
+        sketch.offer(3);
+
+        assertEquals(List.of(Map.entry(1L, 5L), Map.entry(2L, 2L), Map.entry(3L, 1L)), sketch.top(10));
+        assertEquals(List.of(Map.entry(1L, 5L)), sketch.top(1));
+    }
+
+    @Test
+    void testKeepsHeavyHittersInALongTail() {
+        HeavyHitters sketch = new HeavyHitters(50);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // A third of the traffic goes to five hot hotels, the rest to 100000 others
+            if (random.nextInt(3) == 0) {
+                sketch.offer(random.nextInt(5));
+            } else {
+                sketch.offer(1000 + random.nextInt(100_000));
+            }
+        }
+
+        List<Long> top = sketch.top(5).stream().map(Map.Entry::getKey).collect(Collectors.toList());
+        assertTrue(top.containsAll(List.of(0L, 1L, 2L, 3L, 4L)), top.toString());
+        assertEquals(50, sketch.size());
+    }
+
+    @Test
+    void testDrainEmptiesTheSketch() {
+        HeavyHitters sketch = new HeavyHitters(2);
+        sketch.offer(1);
+        sketch.offer(2);
+        sketch.offer(3);
+
+        // 3 replaced the least counted entry and inherited its count
+        List<Map.Entry<Long, Long>> drained = sketch.drain();
+        assertEquals(2, drained.size());
+        assertEquals(Map.entry(3L, 2L), drained.get(0));
+        assertEquals(0, sketch.size());
+    }
+}
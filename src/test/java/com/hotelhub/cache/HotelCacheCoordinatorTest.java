@@ -0,0 +1,28 @@
+package com.hotelhub.cache;
+
+import io.quarkus.cache.CompositeCacheKey;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HotelCacheCoordinatorTest {
+
+    @Test
+    void testMatchesPlainHotelIdKeys() {
+        assertTrue(HotelCacheCoordinator.isKeyOf(42L, 42L));
+        assertFalse(HotelCacheCoordinator.isKeyOf(43L, 42L));
+    }
+
+    @Test
+    void testMatchesCompositeKeysStartingWithHotelId() {
+        // getHotelReviews(hotelId, page, size) and getHotelReviewsAfter(hotelId, cursor, size)
+        assertTrue(HotelCacheCoordinator.isKeyOf(new CompositeCacheKey(42L, 0, 20), 42L));
+        assertTrue(HotelCacheCoordinator.isKeyOf(new CompositeCacheKey(42L, "", 20), 42L));
+        // getHotelTranslations(hotelId, language)
+        assertTrue(HotelCacheCoordinator.isKeyOf(new CompositeCacheKey(42L, null), 42L));
+
+        assertFalse(HotelCacheCoordinator.isKeyOf(new CompositeCacheKey(7L, 42, 20), 42L));
+        assertFalse(HotelCacheCoordinator.isKeyOf(new CompositeCacheKey(0, 42L), 42L));
+    }
+}
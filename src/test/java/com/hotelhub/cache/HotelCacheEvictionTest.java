@@ -0,0 +1,163 @@
+package com.hotelhub.cache;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelPhoto;
+import com.hotelhub.entity.HotelReview;
+import com.hotelhub.service.HotelCoreService;
+import com.hotelhub.service.HotelRetrievalService;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.UserTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(TestCacheProfile.class)
+public class HotelCacheEvictionTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    UserTransaction userTransaction;
+
+    @Inject
+    HotelCoreService hotelCoreService;
+
+    @Inject
+    HotelRetrievalService hotelRetrievalService;
+
+    @Inject
+    HotelCacheCoordinator cacheCoordinator;
+
+    @Inject
+    HotelVersions hotelVersions;
+
+    @Inject
+    @CacheName("hotel-versions")
+    Cache versionCache;
+
+    private Long hotelId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        userTransaction.begin();
+        entityManager.createQuery("DELETE FROM HotelReview").executeUpdate();
+        entityManager.createQuery("DELETE FROM HotelPhoto").executeUpdate();
+        entityManager.createQuery("DELETE FROM Hotel").executeUpdate();
+
+        Hotel hotel = new Hotel();
+        hotel.cupidId = 6001L;
+        hotel.name = "Hotel Roma";
+        entityManager.persist(hotel);
+
+        HotelPhoto photo = new HotelPhoto();
+        photo.hotel = hotel;
+        photo.url = "https://example.com/old.jpg";
+        entityManager.persist(photo);
+
+        HotelReview review = new HotelReview();
+        review.hotel = hotel;
+        review.cupidReviewId = "review-1";
+        review.headline = "Old headline";
+        entityManager.persist(review);
+        userTransaction.commit();
+
+        hotelId = hotel.id;
+        cacheCoordinator.evictAll();
+    }
+
+    /**
+     * Changes the rows without going through a service, so no cached entry is evicted.
+     */
+    private void changeBehindTheCache() throws Exception {
+        userTransaction.begin();
+        entityManager.createNativeQuery("UPDATE hotel_photos SET url = 'https://example.com/new.jpg'").executeUpdate();
+        entityManager.createNativeQuery("UPDATE hotel_reviews SET headline = 'New headline'").executeUpdate();
+        entityManager.createNativeQuery("UPDATE hotels SET name = 'Hotel Roma Centro'").executeUpdate();
+        userTransaction.commit();
+    }
+
+    private String name() {
+        return hotelCoreService.getHotelById(hotelId).orElseThrow().name;
+    }
+
+    private List<String> photoUrls() {
+        return hotelRetrievalService.getHotelPhotos(hotelId).stream().map(p -> p.url).toList();
+    }
+
+    private List<String> reviewHeadlines() {
+        return hotelRetrievalService.getHotelReviews(hotelId, 0, 10).content.stream().map(r -> r.headline).toList();
+    }
+
+    @Test
+    public void testCommittedChangeEvictsEveryPerHotelCache() throws Exception {
+        assertEquals("Hotel Roma", name());
+        assertEquals(List.of("https://example.com/old.jpg"), photoUrls());
+        assertEquals(List.of("Old headline"), reviewHeadlines());
+
+        changeBehindTheCache();
+
+        // Still served from the caches
+        assertEquals("Hotel Roma", name());
+        assertEquals(List.of("https://example.com/old.jpg"), photoUrls());
+        assertEquals(List.of("Old headline"), reviewHeadlines());
+
+        HotelDto update = hotelCoreService.getHotelById(hotelId).orElseThrow();
+        update.name = "Hotel Roma Nuovo";
+        hotelCoreService.updateHotel(hotelId, update);
+
+        assertEquals("Hotel Roma Nuovo", name());
+        assertEquals(List.of("https://example.com/new.jpg"), photoUrls());
+        assertEquals(List.of("New headline"), reviewHeadlines());
+    }
+
+    @Test
+    public void testRolledBackChangeKeepsCachedEntries() throws Exception {
+        assertEquals("Hotel Roma", name());
+        assertEquals(List.of("Old headline"), reviewHeadlines());
+        changeBehindTheCache();
+
+        userTransaction.begin();
+        HotelDto update = hotelCoreService.getHotelById(hotelId).orElseThrow();
+        update.name = "Never committed";
+        hotelCoreService.updateHotel(hotelId, update);
+        userTransaction.rollback();
+
+        // Nothing committed, so nothing was evicted
+        assertEquals(List.of("Old headline"), reviewHeadlines());
+        assertEquals("Hotel Roma", name());
+    }
+
+    @Test
+    public void testVersionLoadedOnMissIsNotPairedWithOlderContent() throws Exception {
+        long version = hotelVersions.current(hotelId).orElseThrow().version;
+        assertEquals("Hotel Roma", name());
+        assertEquals(List.of("https://example.com/old.jpg"), photoUrls());
+        assertEquals(List.of("Old headline"), reviewHeadlines());
+
+        // A change committed elsewhere whose eviction has not arrived yet
+        changeBehindTheCache();
+        userTransaction.begin();
+        entityManager.createNativeQuery("UPDATE hotels SET content_version = content_version + 1").executeUpdate();
+        userTransaction.commit();
+        assertEquals("Hotel Roma", name());
+
+        // The cached version is dropped, e.g. expired, and read again
+        versionCache.invalidate(hotelId).await().indefinitely();
+        assertEquals(version + 1, hotelVersions.current(hotelId).orElseThrow().version);
+
+        assertEquals("Hotel Roma Centro", name());
+        assertEquals(List.of("https://example.com/new.jpg"), photoUrls());
+        assertEquals(List.of("New headline"), reviewHeadlines());
+    }
+}
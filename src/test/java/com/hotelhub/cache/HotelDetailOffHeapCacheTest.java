@@ -0,0 +1,70 @@
+package com.hotelhub.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelhub.dto.HotelDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HotelDetailOffHeapCacheTest {
+
+    private final HotelDetailOffHeapCache cache = new HotelDetailOffHeapCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        cache.objectMapper = new ObjectMapper();
+        cache.enabled = true;
+        cache.capacityMb = 1;
+        cache.chunkMb = 1;
+        cache.expireAfterWrite = Duration.ofHours(6);
+        cache.init();
+    }
+
+    private Optional<HotelDto> load(Long id, String name) {
+        loads.incrementAndGet();
+        HotelDto hotel = new HotelDto();
+        hotel.id = id;
+        hotel.name = name;
+        return Optional.of(hotel);
+    }
+
+    @Test
+    void testServesStoredHotelWithoutLoading() {
+        cache.get(1L, id -> load(id, "Hotel Roma"));
+        Optional<HotelDto> hotel = cache.get(1L, id -> load(id, "never loaded"));
+
+        assertEquals("Hotel Roma", hotel.get().name);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLoadOverlappingAnEvictionIsNotStored() {
+        // The load read the old state, then the change committed and evicted the hotel
+        Optional<HotelDto> stale = cache.get(1L, id -> {
+            cache.evict(id);
+            return load(id, "before change");
+        });
+        assertEquals("before change", stale.get().name);
+
+        Optional<HotelDto> fresh = cache.get(1L, id -> load(id, "after change"));
+
+        assertEquals("after change", fresh.get().name);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictAllDropsLoadsInFlight() {
+        cache.get(1L, id -> {
+            cache.evictAll();
+            return load(id, "before change");
+        });
+
+        assertEquals("after change", cache.get(1L, id -> load(id, "after change")).get().name);
+    }
+}
@@ -0,0 +1,188 @@
+package com.hotelhub.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HotelReadCoalescerTest {
+
+    private static final int REQUESTS = 500;
+    private static final int HOTELS = 5;
+
+    private final HotelReadCoalescer coalescer = new HotelReadCoalescer();
+
+    @Test
+    void testConcurrentMissesShareOneLoadPerKey() throws Exception {
+        Map<Long, AtomicInteger> loads = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        Map<Thread, Object> results = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            long hotelId = i % HOTELS;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    started.incrementAndGet();
+                    Object result = coalescer.load(hotelId, "detail", () -> {
+                        loads.computeIfAbsent(hotelId, id -> new AtomicInteger()).incrementAndGet();
+                        awaitQuietly(release);
+                        return "hotel-" + hotelId;
+                    });
+                    results.put(Thread.currentThread(), result);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        // Every request is either running a load (blocked on release) or waiting for one
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (started.get() < REQUESTS || !threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            assertTrue(System.nanoTime() < deadline, "requests did not reach the coalescer");
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertEquals(HOTELS, loads.size());
+        loads.forEach((hotelId, count) -> assertEquals(1, count.get(), "loads of hotel " + hotelId));
+        assertEquals(REQUESTS, results.size());
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals("hotel-" + (i % HOTELS), results.get(threads.get(i)));
+        }
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void testKeyIncludesReadAndArguments() {
+        AtomicInteger loads = new AtomicInteger();
+        coalescer.load(1L, "reviews", loads::incrementAndGet, 0, 10);
+        coalescer.load(1L, "reviews", loads::incrementAndGet, 1, 10);
+        coalescer.load(1L, "photos", loads::incrementAndGet);
+        // Finished loads are not kept
+        coalescer.load(1L, "photos", loads::incrementAndGet);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testFollowersGetTheLeadersException() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        Map<String, Throwable> thrown = new ConcurrentHashMap<>();
+
+        Thread leader = new Thread(() -> {
+            try {
+                coalescer.load(1L, "detail", () -> {
+                    leading.countDown();
+                    awaitQuietly(release);
+                    throw failure;
+                });
+            } catch (RuntimeException e) {
+                thrown.put("leader", e);
+            }
+        });
+        leader.start();
+        leading.await();
+        Thread follower = new Thread(() -> {
+            try {
+                coalescer.load(1L, "detail", () -> "loaded twice");
+            } catch (RuntimeException e) {
+                thrown.put("follower", e);
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertSame(failure, thrown.get("leader"));
+        assertSame(failure, thrown.get("follower"));
+    }
+
+    @Test
+    void testForgottenLoadIsNotJoined() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> coalescer.load(1L, "detail", () -> {
+                leading.countDown();
+                awaitQuietly(release);
+                return "before change";
+            }));
+            leading.await();
+
+            coalescer.forget(1L);
+
+            // Starts its own load instead of waiting for the one begun before the change
+            assertEquals("after change", coalescer.load(1L, "detail", () -> "after change"));
+            release.countDown();
+            assertEquals("before change", stale.get(30, TimeUnit.SECONDS));
+            assertEquals(0, coalescer.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testForgetClearsCatalogueReads() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> coalescer.load("statistics", () -> {
+                leading.countDown();
+                awaitQuietly(release);
+                return "stale";
+            }));
+            leading.await();
+
+            coalescer.forget(42L);
+
+            assertEquals("fresh", coalescer.load("statistics", () -> "fresh"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "thread did not reach the coalescer");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hotelhub.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class OffHeapArenaTest {
+
+    private static byte[] value(int length, int fill) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) fill);
+        return bytes;
+    }
+
+    @Test
+    void testPutGetAcrossChunkBoundary() {
+        OffHeapArena arena = new OffHeapArena(64, 16);
+        byte[] first = value(10, 1);
+        byte[] second = "spans two chunks".getBytes(StandardCharsets.UTF_8);
+
+        arena.put(1L, first);
+        arena.put(2L, second);
+
+        assertArrayEquals(first, arena.get(1L));
+        assertArrayEquals(second, arena.get(2L));
+        assertEquals(26, arena.usedBytes());
+    }
+
+    @Test
+    void testOldestEntriesAreOverwrittenWhenFull() {
+        OffHeapArena arena = new OffHeapArena(64, 16);
+        for (long key = 0; key < 6; key++) {
+            arena.put(key, value(16, (int) key));
+        }
+
+        // 64 bytes hold four entries: 0 and 1 were overwritten by 4 and 5
+        assertNull(arena.get(0L));
+        assertNull(arena.get(1L));
+        for (long key = 2; key < 6; key++) {
+            assertArrayEquals(value(16, (int) key), arena.get(key));
+        }
+        assertEquals(4, arena.size());
+    }
+
+    @Test
+    void testWrapDropsEntriesInTheSkippedTail() {
+        OffHeapArena arena = new OffHeapArena(64, 16);
+        arena.put(1L, value(16, 1));
+        arena.put(2L, value(16, 2));
+        arena.put(3L, value(16, 3));
+        arena.put(4L, value(10, 4));
+        // 6 bytes left at the end: the next entry wraps to the start and overwrites entry 1
+        arena.put(5L, value(12, 5));
+
+        assertNull(arena.get(1L));
+        assertArrayEquals(value(16, 2), arena.get(2L));
+        assertArrayEquals(value(10, 4), arena.get(4L));
+        assertArrayEquals(value(12, 5), arena.get(5L));
+
+        // The next lap over the ring overwrites the remaining old entries, up to entry 4
+        arena.put(6L, value(16, 6));
+        arena.put(7L, value(16, 7));
+        arena.put(8L, value(16, 8));
+        assertNull(arena.get(4L));
+        assertArrayEquals(value(16, 8), arena.get(8L));
+    }
+
+    @Test
+    void testRewriteAndRemove() {
+        OffHeapArena arena = new OffHeapArena(64, 16);
+        arena.put(1L, value(8, 1));
+        arena.put(1L, value(4, 9));
+        assertArrayEquals(value(4, 9), arena.get(1L));
+        assertEquals(4, arena.usedBytes());
+
+        arena.remove(1L);
+        assertNull(arena.get(1L));
+        assertEquals(0, arena.usedBytes());
+
+        // Filling the ring evicts the stale slots of key 1 without touching newer entries
+        for (long key = 2; key < 10; key++) {
+            arena.put(key, value(12, (int) key));
+        }
+        assertArrayEquals(value(12, 9), arena.get(9L));
+    }
+
+    @Test
+    void testRejectsOversizedValues() {
+        OffHeapArena arena = new OffHeapArena(64, 16);
+        arena.put(1L, value(8, 1));
+
+        assertFalse(arena.put(1L, value(17, 2)));
+        assertNull(arena.get(1L));
+    }
+
+    @Test
+    void testChunksAreAllocatedOnFirstWrite() {
+        OffHeapArena arena = new OffHeapArena(64, 16);
+        assertEquals(0, arena.allocatedBytes());
+
+        arena.put(1L, value(10, 1));
+        assertEquals(16, arena.allocatedBytes());
+
+        // Spans into the second chunk
+        arena.put(2L, value(10, 2));
+        assertEquals(32, arena.allocatedBytes());
+        assertEquals(64, arena.capacity());
+    }
+}
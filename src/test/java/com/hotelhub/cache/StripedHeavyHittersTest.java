@@ -0,0 +1,61 @@
+package com.hotelhub.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StripedHeavyHittersTest {
+
+    @Test
+    void testDrainSumsCountsFromAllThreads() throws InterruptedException {
+        StripedHeavyHitters sketch = new StripedHeavyHitters(4, 10);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    sketch.offer(1);
+                    if (i % 2 == 0) {
+                        sketch.offer(2);
+                    }
+                }
+                sketch.offer(3);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(Map.entry(1L, 8000L), Map.entry(2L, 4000L), Map.entry(3L, 8L)), sketch.drain());
+        assertEquals(List.of(), sketch.drain());
+    }
+
+    @Test
+    void testDrainReturnsAtMostCapacity() {
+        StripedHeavyHitters sketch = new StripedHeavyHitters(2, 2);
+        sketch.offer(1);
+        sketch.offer(1);
+        sketch.offer(2);
+
+        assertEquals(List.of(Map.entry(1L, 2L), Map.entry(2L, 1L)), sketch.drain());
+    }
+
+    @Test
+    void testRestoredCountsAreDrainedAgain() {
+        StripedHeavyHitters sketch = new StripedHeavyHitters(2, 10);
+        sketch.offer(1);
+        sketch.offer(2);
+        sketch.offer(2);
+        List<Map.Entry<Long, Long>> counts = sketch.drain();
+
+        sketch.restore(counts);
+        sketch.offer(1);
+
+        assertEquals(List.of(Map.entry(1L, 2L), Map.entry(2L, 2L)), sketch.drain());
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotelhub.cache;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestCacheProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> config = new HashMap<>();
+        // Isolated test containers - DevServices will manage database connection
+        config.put("quarkus.datasource.devservices.enabled", "true");
+        config.put("quarkus.datasource.devservices.reuse", "false");
+        config.put("quarkus.datasource.devservices.image-name", "postgres:15-alpine");
+        // Caches enabled, unlike the other profiles: these tests assert what is cached and evicted
+        config.put("quarkus.cache.enabled", "true");
+        // Listen for invalidations from other replicas and reconnect quickly
+        config.put("hotel.cache.cluster-invalidation.enabled", "true");
+        config.put("hotel.cache.cluster-invalidation.reconnect-delay", "PT0.5S");
+        // Mock API for tests
+        config.put("quarkus.rest-client.cupid-api.url", "http://localhost:8081");
+        return config;
+    }
+}
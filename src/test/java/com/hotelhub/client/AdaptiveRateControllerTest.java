@@ -0,0 +1,56 @@
+package com.hotelhub.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveRateControllerTest {
+
+    private final AdaptiveRateController controller = new AdaptiveRateController();
+
+    @BeforeEach
+    void setup() {
+        CupidRateLimiter rateLimiter = new CupidRateLimiter();
+        rateLimiter.requestsPerMinute = 60;
+        rateLimiter.burstCapacity = 5;
+        rateLimiter.init();
+
+        controller.rateLimiter = rateLimiter;
+        controller.maxRequestsPerMinute = 60;
+        controller.minRequestsPerMinute = 6;
+        controller.decreaseFactor = 0.5;
+        controller.increaseStep = 1;
+        controller.defaultPauseMillis = 2000;
+    }
+
+    @Test
+    public void testBurstOfRejectionsCutsTheRateOnce() {
+        // Four concurrent requests all rejected
+        for (int i = 0; i < 4; i++) {
+            controller.onThrottled(Duration.ofSeconds(5));
+        }
+
+        assertEquals(30, controller.getCurrentRate(), 0.001);
+    }
+
+    @Test
+    public void testRejectionAfterThePauseCutsAgain() throws InterruptedException {
+        controller.onThrottled(Duration.ofMillis(50));
+        Thread.sleep(100);
+        controller.onThrottled(Duration.ofMillis(50));
+
+        assertEquals(15, controller.getCurrentRate(), 0.001);
+    }
+
+    @Test
+    public void testRateNeverDropsBelowMinimum() {
+        for (int i = 0; i < 10; i++) {
+            controller.onThrottled(Duration.ZERO);
+        }
+
+        assertEquals(6, controller.getCurrentRate(), 0.001);
+    }
+}
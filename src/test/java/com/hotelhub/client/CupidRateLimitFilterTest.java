@@ -0,0 +1,38 @@
+package com.hotelhub.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CupidRateLimitFilterTest {
+
+    @Test
+    public void testRetryAfterSeconds() {
+        assertEquals(Duration.ofSeconds(30), CupidRateLimitFilter.parseRetryAfter("30"));
+        assertEquals(Duration.ZERO, CupidRateLimitFilter.parseRetryAfter(" 0 "));
+    }
+
+    @Test
+    public void testRetryAfterHttpDate() {
+        String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(10));
+
+        Duration wait = CupidRateLimitFilter.parseRetryAfter(inTenSeconds);
+
+        assertTrue(wait.toSeconds() >= 8 && wait.toSeconds() <= 10);
+    }
+
+    @Test
+    public void testRetryAfterMissingOrInvalid() {
+        assertNull(CupidRateLimitFilter.parseRetryAfter(null));
+        assertNull(CupidRateLimitFilter.parseRetryAfter(""));
+        assertNull(CupidRateLimitFilter.parseRetryAfter("soon"));
+    }
+}
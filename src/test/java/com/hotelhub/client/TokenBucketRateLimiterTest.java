@@ -0,0 +1,100 @@
+package com.hotelhub.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    public void testBurstIsAvailableImmediately() {
+        var limiter = new TokenBucketRateLimiter(60, 3);
+
+        assertEquals(3, limiter.availableTokens());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.availableTokens());
+    }
+
+    @Test
+    public void testReserveBeyondBurstReturnsWait() {
+        var limiter = new TokenBucketRateLimiter(60, 1);
+
+        assertEquals(0, limiter.reserve());
+        long wait = limiter.reserve();
+
+        // One permit per second: the second request waits roughly one interval
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(900));
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, limiter.getThrottledCount());
+    }
+
+    @Test
+    public void testTryAcquireDoesNotBookWhenEmpty() {
+        var limiter = new TokenBucketRateLimiter(60, 1);
+
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getAcquiredCount());
+    }
+
+    @Test
+    public void testRaisingRateShortensWait() {
+        var limiter = new TokenBucketRateLimiter(60, 1);
+        limiter.reserve();
+
+        limiter.setPermitsPerMinute(6000);
+        limiter.reserve();
+        long wait = limiter.reserve();
+
+        assertTrue(wait < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(6000.0, limiter.getPermitsPerMinute(), 0.001);
+    }
+
+    @Test
+    public void testPauseHoldsBackAllPermits() {
+        var limiter = new TokenBucketRateLimiter(6000, 5);
+
+        limiter.pause(Duration.ofSeconds(2));
+
+        assertEquals(0, limiter.availableTokens());
+        long wait = limiter.reserve();
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(1900));
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void testConcurrentReservationsGetDistinctSlots() throws Exception {
+        var limiter = new TokenBucketRateLimiter(60, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> tasks = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                tasks.add(limiter::reserve);
+            }
+            long immediate = 0;
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                if (future.get() == 0) {
+                    immediate++;
+                }
+            }
+            // Exactly the burst capacity is free, everything else is spaced out
+            assertEquals(10, immediate);
+            assertEquals(100, limiter.getAcquiredCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.dto.PagedResult;
+import com.hotelhub.entity.Hotel;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(TestEstimatedCountProfile.class)
+public class CountStrategyTest {
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        hotelRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            Hotel hotel = new Hotel();
+            hotel.cupidId = 3000L + i;
+            hotel.name = "Count Hotel " + i;
+            hotel.city = "Lisbon";
+            hotel.rating = BigDecimal.valueOf(4.0);
+            hotelRepository.persist(hotel);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testFullPageUsesPlannerEstimate() {
+        PagedResult<HotelDto> result = hotelRepository.findWithFilters(0, 2, "Lisbon", null, null, null, null, null);
+
+        assertEquals(2, result.content.size());
+        assertFalse(result.totalExact);
+        assertTrue(result.totalElements >= 1);
+    }
+
+    @Test
+    @Transactional
+    public void testShortPageTotalIsExactWithoutCounting() {
+        PagedResult<HotelDto> result = hotelRepository.findWithFilters(1, 2, "Lisbon", null, null, null, null, null);
+
+        assertEquals(1, result.content.size());
+        assertTrue(result.totalExact);
+        assertEquals(3, result.totalElements);
+    }
+
+    @Test
+    @Transactional
+    public void testSearchUsesPlannerEstimate() {
+        PagedResult<HotelDto> result = hotelRepository.searchHotels("count", 0, 2);
+
+        assertEquals(2, result.content.size());
+        assertFalse(result.totalExact);
+    }
+}
@@ -0,0 +1,112 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.entity.Hotel;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class HotelAccessCountRepositoryTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelAccessCountRepository accessCountRepository;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        entityManager.createNativeQuery("DELETE FROM hotel_access_counts").executeUpdate();
+        hotelRepository.deleteAll();
+    }
+
+    private Long persist(Long cupidId) {
+        Hotel hotel = new Hotel();
+        hotel.cupidId = cupidId;
+        hotel.name = "Hotel " + cupidId;
+        hotelRepository.persist(hotel);
+        return hotel.id;
+    }
+
+    private long hits(Long hotelId) {
+        return ((Number) entityManager.createNativeQuery("SELECT hits FROM hotel_access_counts WHERE hotel_id = :id")
+                .setParameter("id", hotelId)
+                .getSingleResult()).longValue();
+    }
+
+    @Test
+    @TestTransaction
+    public void testHitsFromSeveralFlushesAddUp() {
+        Long rome = persist(5001L);
+        Long paris = persist(5002L);
+        Long lyon = persist(5003L);
+        hotelRepository.flush();
+
+        accessCountRepository.addHits(List.of(Map.entry(rome, 5L), Map.entry(paris, 3L)));
+        accessCountRepository.addHits(List.of(Map.entry(paris, 4L), Map.entry(lyon, 1L)));
+
+        assertEquals(7, hits(paris));
+        assertEquals(List.of(paris, rome, lyon), accessCountRepository.findTopHotelIds(10));
+        assertEquals(List.of(paris), accessCountRepository.findTopHotelIds(1));
+    }
+
+    @Test
+    @TestTransaction
+    public void testTopHotelsSkipDeletedHotels() {
+        Long rome = persist(5001L);
+        hotelRepository.flush();
+
+        accessCountRepository.addHits(List.of(Map.entry(-1L, 100L), Map.entry(rome, 1L)));
+
+        assertEquals(List.of(rome), accessCountRepository.findTopHotelIds(10));
+    }
+
+    @Test
+    @TestTransaction
+    public void testDecayHalvesOncePerHalfLife() {
+        Long rome = persist(5001L);
+        Long paris = persist(5002L);
+        hotelRepository.flush();
+        accessCountRepository.addHits(List.of(Map.entry(rome, 9L), Map.entry(paris, 1L)));
+        entityManager.createNativeQuery("UPDATE hotel_access_counts SET decayed_at = now() - INTERVAL '2 hours'")
+                .executeUpdate();
+
+        accessCountRepository.decay(Duration.ofHours(1));
+        // Already halved within this half-life
+        accessCountRepository.decay(Duration.ofHours(1));
+
+        assertEquals(4, hits(rome));
+        // Dropped at zero
+        assertEquals(List.of(rome), accessCountRepository.findTopHotelIds(10));
+    }
+
+    @Test
+    @TestTransaction
+    public void testTrimKeepsTheMostRequested() {
+        Long rome = persist(5001L);
+        Long paris = persist(5002L);
+        Long lyon = persist(5003L);
+        hotelRepository.flush();
+        accessCountRepository.addHits(List.of(Map.entry(rome, 2L), Map.entry(paris, 3L), Map.entry(lyon, 1L)));
+
+        accessCountRepository.trim(2);
+
+        assertEquals(List.of(paris, rome), accessCountRepository.findTopHotelIds(10));
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelFacility;
+import com.hotelhub.entity.HotelPhoto;
+import com.hotelhub.entity.HotelReview;
+import com.hotelhub.entity.HotelTranslation;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class HotelDetailRepositoryTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelDetailRepository hotelDetailRepository;
+
+    Long hotelId;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        hotelRepository.deleteAll();
+
+        Hotel hotel = new Hotel();
+        hotel.cupidId = 2001L;
+        hotel.name = "Detail Hotel";
+        hotel.countryCode = "FR";
+        hotelRepository.persist(hotel);
+
+        for (int i = 0; i < 25; i++) {
+            HotelReview review = new HotelReview();
+            review.hotel = hotel;
+            review.cupidReviewId = "review-" + i;
+            review.headline = "Review " + i;
+            entityManager.persist(review);
+        }
+
+        HotelPhoto photo = new HotelPhoto();
+        photo.hotel = hotel;
+        photo.url = "https://example.com/hotel.jpg";
+        entityManager.persist(photo);
+
+        HotelFacility facility = new HotelFacility();
+        facility.hotel = hotel;
+        facility.facilityId = 1;
+        facility.name = "Pool";
+        entityManager.persist(facility);
+
+        HotelTranslation translation = new HotelTranslation();
+        translation.hotel = hotel;
+        translation.language = "fr";
+        translation.translatedName = "Hôtel Détail";
+        entityManager.persist(translation);
+
+        hotelId = hotel.id;
+    }
+
+    @Test
+    @TestTransaction
+    public void testFindHotelDetail() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        Optional<HotelDto> result = hotelDetailRepository.findHotelDetail(hotelId);
+
+        assertTrue(result.isPresent());
+        HotelDto dto = result.get();
+        assertEquals("Detail Hotel", dto.name);
+        assertEquals("FR", dto.country);
+        assertEquals(25, dto.reviews.size());
+        assertEquals(1, dto.photos.size());
+        assertEquals(1, dto.facilities.size());
+        assertEquals("Hôtel Détail", dto.translations.get(0).translatedName);
+
+        // Hotel row plus one query per related list, regardless of how many reviews there are
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @TestTransaction
+    public void testFindHotelDetailNotFound() {
+        assertFalse(hotelDetailRepository.findHotelDetail(99999L).isPresent());
+    }
+}
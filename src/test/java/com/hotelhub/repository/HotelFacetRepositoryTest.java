@@ -0,0 +1,142 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelFacetFilter;
+import com.hotelhub.dto.HotelFacetsDto;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelFacility;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class HotelFacetRepositoryTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelFacetRepository hotelFacetRepository;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        entityManager.createQuery("DELETE FROM HotelFacility").executeUpdate();
+        hotelRepository.deleteAll();
+
+        for (int i = 0; i < 12; i++) {
+            Hotel hotel = new Hotel();
+            hotel.cupidId = 5000L + i;
+            hotel.name = "Facet Hotel " + i;
+            hotel.stars = 3 + i % 3;
+            hotel.rating = BigDecimal.valueOf(i % 5);
+            hotel.chain = i < 8 ? "Grand" : "Budget";
+            hotel.hotelType = "Hotel";
+            hotel.petsAllowed = i % 2 == 0;
+            hotelRepository.persist(hotel);
+
+            addFacility(hotel, 1, "WiFi");
+            if (i % 3 == 0) {
+                addFacility(hotel, 2, "Pool");
+            }
+        }
+    }
+
+    private void addFacility(Hotel hotel, int facilityId, String name) {
+        HotelFacility facility = new HotelFacility();
+        facility.hotel = hotel;
+        facility.facilityId = facilityId;
+        facility.name = name;
+        entityManager.persist(facility);
+    }
+
+    private static Map<String, Long> counts(HotelFacetsDto result, String facet) {
+        return result.facets.get(facet).stream().collect(Collectors.toMap(c -> c.value, c -> c.count));
+    }
+
+    @Test
+    @TestTransaction
+    public void testPageAndFacetsInTwoStatements() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        HotelFacetsDto result = hotelFacetRepository.findWithFacets(new HotelFacetFilter(), 0, 5);
+
+        assertEquals(12, result.hotels.totalElements);
+        assertEquals(5, result.hotels.content.size());
+        assertEquals(4, result.hotels.content.get(0).rating.intValue());
+        assertEquals(Map.of("3", 4L, "4", 4L, "5", 4L), counts(result, "stars"));
+        assertEquals(Map.of("Grand", 8L, "Budget", 4L), counts(result, "chain"));
+        assertEquals(Map.of("true", 6L, "false", 6L), counts(result, "petsAllowed"));
+        assertEquals(List.of("1", "2"), result.facets.get("facility").stream().map(c -> c.value).toList());
+        assertEquals("Pool", result.facets.get("facility").get(1).label);
+        assertEquals(4, result.facets.get("facility").get(1).count);
+
+        // Facet query plus the hotel rows for the page
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @TestTransaction
+    public void testEmptyPageSkipsTheHotelQuery() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        HotelFacetsDto result = hotelFacetRepository.findWithFacets(new HotelFacetFilter(), 5, 5);
+
+        assertEquals(12, result.hotels.totalElements);
+        assertEquals(0, result.hotels.content.size());
+        assertEquals(Map.of("3", 4L, "4", 4L, "5", 4L), counts(result, "stars"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @TestTransaction
+    public void testFacetsFollowTheFilter() {
+        HotelFacetFilter filter = new HotelFacetFilter();
+        filter.chain = "Grand";
+        filter.facilityIds = List.of(1, 2);
+
+        HotelFacetsDto result = hotelFacetRepository.findWithFacets(filter, 0, 20);
+
+        // Hotels 0, 3 and 6 are Grand and have the pool
+        assertEquals(3, result.hotels.totalElements);
+        assertEquals(Map.of("Grand", 3L), counts(result, "chain"));
+        assertEquals(Map.of("3", 3L), counts(result, "stars"));
+        assertEquals(Map.of("true", 2L, "false", 1L), counts(result, "petsAllowed"));
+    }
+
+    @Test
+    @TestTransaction
+    public void testNoMatches() {
+        HotelFacetFilter filter = new HotelFacetFilter();
+        filter.hotelType = "Hostel";
+
+        HotelFacetsDto result = hotelFacetRepository.findWithFacets(filter, 0, 20);
+
+        assertEquals(0, result.hotels.totalElements);
+        assertEquals(0, result.hotels.content.size());
+        assertEquals(0, result.facets.get("stars").size());
+    }
+}
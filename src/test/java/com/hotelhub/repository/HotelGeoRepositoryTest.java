@@ -0,0 +1,99 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelDto;
+import com.hotelhub.dto.PagedResult;
+import com.hotelhub.entity.Hotel;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class HotelGeoRepositoryTest {
+
+    private static final double PARIS_LAT = 48.8566;
+    private static final double PARIS_LON = 2.3522;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelGeoRepository hotelGeoRepository;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        hotelRepository.deleteAll();
+
+        persist(3001L, "Paris Centre", 48.8566, 2.3522);
+        // About 4 km north-west of the centre
+        persist(3002L, "Paris Batignolles", 48.8840, 2.3190);
+        persist(3003L, "London Hotel", 51.5074, -0.1278);
+        persist(3004L, "Fiji Hotel", -17.7134, 178.0650);
+        persist(3005L, "Samoa Hotel", -13.8333, -171.7500);
+        persist(3006L, "Unlocated Hotel", null, null);
+    }
+
+    private void persist(Long cupidId, String name, Double lat, Double lon) {
+        Hotel hotel = new Hotel();
+        hotel.cupidId = cupidId;
+        hotel.name = name;
+        hotel.latitude = lat == null ? null : BigDecimal.valueOf(lat);
+        hotel.longitude = lon == null ? null : BigDecimal.valueOf(lon);
+        hotelRepository.persist(hotel);
+    }
+
+    @Test
+    void testFindNearbyOrdersByDistanceWithinRadius() {
+        PagedResult<HotelDto> result = hotelGeoRepository.findNearby(PARIS_LAT, PARIS_LON, 10, "", 20);
+
+        assertEquals(List.of("Paris Centre", "Paris Batignolles"), result.content.stream().map(h -> h.name).toList());
+        assertEquals(0.0, result.content.get(0).distanceKm, 0.01);
+        assertEquals(3.9, result.content.get(1).distanceKm, 0.3);
+        assertNull(result.nextCursor);
+
+        // London is about 344 km away
+        assertEquals(3, hotelGeoRepository.findNearby(PARIS_LAT, PARIS_LON, 400, "", 20).content.size());
+    }
+
+    @Test
+    void testFindNearbyPagesWithCursor() {
+        PagedResult<HotelDto> first = hotelGeoRepository.findNearby(PARIS_LAT, PARIS_LON, 400, "", 1);
+        assertEquals("Paris Centre", first.content.get(0).name);
+        assertNotNull(first.nextCursor);
+
+        PagedResult<HotelDto> second = hotelGeoRepository.findNearby(PARIS_LAT, PARIS_LON, 400, first.nextCursor, 1);
+        assertEquals("Paris Batignolles", second.content.get(0).name);
+
+        PagedResult<HotelDto> third = hotelGeoRepository.findNearby(PARIS_LAT, PARIS_LON, 400, second.nextCursor, 1);
+        assertEquals("London Hotel", third.content.get(0).name);
+        assertTrue(third.content.get(0).distanceKm > 300);
+    }
+
+    @Test
+    void testFindWithinBox() {
+        PagedResult<HotelDto> result = hotelGeoRepository.findWithinBox(48, 1, 52, 3, "", 20);
+
+        assertEquals(2, result.content.size());
+        assertTrue(result.content.stream().allMatch(h -> h.name.startsWith("Paris")));
+        assertNull(result.content.get(0).distanceKm);
+    }
+
+    @Test
+    void testFindWithinBoxAcrossAntimeridian() {
+        PagedResult<HotelDto> result = hotelGeoRepository.findWithinBox(-20, 170, -10, -170, "", 20);
+
+        assertEquals(List.of("Fiji Hotel", "Samoa Hotel"), result.content.stream().map(h -> h.name).toList());
+    }
+}
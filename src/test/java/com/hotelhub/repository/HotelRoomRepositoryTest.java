@@ -0,0 +1,128 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelRoomDto;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelRoom;
+import com.hotelhub.entity.HotelRoomAmenity;
+import com.hotelhub.entity.HotelRoomBedType;
+import com.hotelhub.entity.HotelRoomPhoto;
+import com.hotelhub.entity.HotelRoomView;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class HotelRoomRepositoryTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelRoomRepository hotelRoomRepository;
+
+    Long smallHotelId;
+    Long largeHotelId;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        hotelRepository.deleteAll();
+        smallHotelId = createHotel(1001L, 2);
+        largeHotelId = createHotel(1002L, 40);
+    }
+
+    @Test
+    @TestTransaction
+    public void testGetHotelRoomsLoadsChildren() {
+        List<HotelRoomDto> rooms = hotelRoomRepository.getHotelRooms(smallHotelId);
+
+        assertEquals(2, rooms.size());
+        HotelRoomDto room = rooms.get(0);
+        assertEquals("Room 00", room.roomName);
+        assertEquals(1, room.bedTypes.size());
+        assertEquals(2, room.amenities.size());
+        assertEquals(1, room.amenities.get(0).sortOrder);
+        assertEquals(1, room.photos.size());
+        assertEquals(1, room.views.size());
+    }
+
+    @Test
+    @TestTransaction
+    public void testGetHotelRoomsStatementCountIndependentOfRoomCount() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        statistics.clear();
+        hotelRoomRepository.getHotelRooms(smallHotelId);
+        long smallHotelStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        List<HotelRoomDto> rooms = hotelRoomRepository.getHotelRooms(largeHotelId);
+        long largeHotelStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(40, rooms.size());
+        // Rooms plus one query per child table
+        assertEquals(5, smallHotelStatements);
+        assertEquals(smallHotelStatements, largeHotelStatements);
+    }
+
+    private Long createHotel(Long cupidId, int roomCount) {
+        Hotel hotel = new Hotel();
+        hotel.cupidId = cupidId;
+        hotel.name = "Hotel " + cupidId;
+        hotelRepository.persist(hotel);
+
+        for (int i = 0; i < roomCount; i++) {
+            HotelRoom room = new HotelRoom();
+            room.hotel = hotel;
+            room.cupidRoomId = (long) i;
+            room.roomName = String.format("Room %02d", i);
+
+            HotelRoomBedType bedType = new HotelRoomBedType();
+            bedType.room = room;
+            bedType.quantity = 1;
+            bedType.bedType = "Double";
+            room.bedTypes.add(bedType);
+
+            for (int sort = 2; sort >= 1; sort--) {
+                HotelRoomAmenity amenity = new HotelRoomAmenity();
+                amenity.room = room;
+                amenity.amenityId = sort;
+                amenity.name = "Amenity " + sort;
+                amenity.sortOrder = sort;
+                room.amenities.add(amenity);
+            }
+
+            HotelRoomPhoto photo = new HotelRoomPhoto();
+            photo.room = room;
+            photo.url = "https://example.com/room" + i + ".jpg";
+            room.photos.add(photo);
+
+            HotelRoomView view = new HotelRoomView();
+            view.room = room;
+            view.viewId = 1;
+            view.view = "Sea view";
+            room.views.add(view);
+
+            entityManager.persist(room);
+        }
+        return hotel.id;
+    }
+}
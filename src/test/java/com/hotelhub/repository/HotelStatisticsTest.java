@@ -0,0 +1,152 @@
+package com.hotelhub.repository;
+
+import com.hotelhub.dto.HotelStatisticsDto;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelReview;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class HotelStatisticsTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelReviewRepository hotelReviewRepository;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        hotelReviewRepository.deleteAll();
+        hotelRepository.deleteAll();
+    }
+
+    private Hotel persist(Long cupidId, String city, String countryCode, Integer stars, String rating) {
+        Hotel hotel = new Hotel();
+        hotel.cupidId = cupidId;
+        hotel.name = "Hotel " + cupidId;
+        hotel.city = city;
+        hotel.countryCode = countryCode;
+        hotel.stars = stars;
+        hotel.rating = rating == null ? null : new BigDecimal(rating);
+        hotelRepository.persist(hotel);
+        return hotel;
+    }
+
+    @Test
+    @TestTransaction
+    public void testEmptyCatalogue() {
+        HotelStatisticsDto stats = hotelRepository.getHotelStatistics();
+
+        assertEquals(0, stats.totalHotels);
+        assertEquals(0, stats.totalReviews);
+        assertNull(stats.averageRating);
+        assertNull(stats.minStars);
+        assertNull(stats.maxStars);
+    }
+
+    @Test
+    @TestTransaction
+    public void testCountersFollowInsertsUpdatesAndDeletes() {
+        persist(4001L, "Paris", "FR", 3, "4.00");
+        Hotel lyon = persist(4002L, "Lyon", "FR", 4, "3.00");
+        Hotel rome = persist(4003L, "Rome", "IT", 5, null);
+
+        HotelReview review = new HotelReview();
+        review.hotel = rome;
+        review.cupidReviewId = "review-1";
+        hotelReviewRepository.persist(review);
+        hotelRepository.flush();
+
+        HotelStatisticsDto stats = hotelRepository.getHotelStatistics();
+        assertEquals(3, stats.totalHotels);
+        assertEquals(1, stats.totalReviews);
+        assertEquals(3.5, stats.averageRating, 0.001);
+        assertEquals(Map.of("FR", 2L, "IT", 1L), stats.hotelsByCountry);
+        assertEquals(List.of(3, 4, 5), List.copyOf(stats.hotelsByStars.keySet()));
+
+        // Moving a hotel subtracts it from its old buckets and adds it to the new ones
+        lyon.countryCode = "IT";
+        lyon.stars = 5;
+        lyon.rating = new BigDecimal("5.00");
+        hotelRepository.flush();
+
+        stats = hotelRepository.getHotelStatistics();
+        assertEquals(Map.of("FR", 1L, "IT", 2L), stats.hotelsByCountry);
+        assertEquals(Map.of(3, 1L, 5, 2L), stats.hotelsByStars);
+        assertEquals(4.5, stats.averageRating, 0.001);
+
+        hotelReviewRepository.delete(review);
+        hotelRepository.delete(rome);
+        hotelRepository.flush();
+
+        stats = hotelRepository.getHotelStatistics();
+        assertEquals(2, stats.totalHotels);
+        assertEquals(0, stats.totalReviews);
+        assertEquals(3, stats.minStars);
+        assertEquals(5, stats.maxStars);
+        assertFalse(stats.hotelsByCity.containsKey("Rome"));
+        assertEquals(Map.of("FR", 1L, "IT", 1L), stats.hotelsByCountry);
+    }
+
+    @Test
+    @TestTransaction
+    public void testCountersAreSpreadOverStripes() {
+        for (int i = 0; i < 20; i++) {
+            persist(4200L + i, "Paris", "FR", 4, "4.00");
+        }
+        hotelRepository.flush();
+
+        Number stripes = (Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM hotel_statistics WHERE dimension = 'total' AND hotel_count <> 0")
+                .getSingleResult();
+        assertTrue(stripes.intValue() > 1);
+
+        HotelStatisticsDto stats = hotelRepository.getHotelStatistics();
+        assertEquals(20, stats.totalHotels);
+        assertEquals(Map.of("Paris", 20L), stats.hotelsByCity);
+        assertEquals(4.0, stats.averageRating, 0.001);
+    }
+
+    @Test
+    @TestTransaction
+    public void testStatisticsAreASingleQuery() {
+        for (int i = 0; i < 30; i++) {
+            persist(4100L + i, "City " + (i % 12), i % 2 == 0 ? "FR" : "ES", 1 + i % 5, "4.00");
+        }
+        hotelRepository.flush();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        HotelStatisticsDto stats = hotelRepository.getHotelStatistics();
+
+        assertEquals(30, stats.totalHotels);
+        assertEquals(10, stats.hotelsByCity.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,183 @@
+package com.hotelhub.repository;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the lookups issued by the repositories are answered from the indexes added in
+ * changesets 015 and 023. Each test seeds enough rows, and analyzes them, for the planner to
+ * prefer the index on its own, with default planner settings. It then drops the index inside
+ * the test transaction and explains the query again, which records the plan from before the
+ * index: a sequential scan. Both plans are logged; the transaction is rolled back afterwards.
+ */
+@QuarkusTest
+@TestProfile(TestRepositoryProfile.class)
+public class QueryPlanTest {
+
+    private static final Logger LOG = Logger.getLogger(QueryPlanTest.class);
+
+    // Seeded IDs start past anything the other tests create
+    private static final long FIRST_ID = 900_001;
+    private static final int HOTELS = 10_000;
+    // Hotels that get child rows, and child rows per parent
+    private static final int PARENTS = 2_000;
+    private static final int CHILDREN = 10;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    @TestTransaction
+    public void testHotelChildLookupsUseHotelIdIndexes() {
+        seedHotels();
+        seedChildren("hotel_photos", "hotel_id, url", "p.id, 'https://example.com/' || c");
+        seedChildren("hotel_facilities", "hotel_id, facility_id, name", "p.id, c, 'Facility ' || c");
+        seedChildren("hotel_policies", "hotel_id, policy_type, name", "p.id, 'type', 'Policy ' || c");
+        seedChildren("hotel_rooms", "hotel_id, room_name", "p.id, 'Room ' || c");
+
+        comparePlans("SELECT * FROM hotel_photos WHERE hotel_id = " + FIRST_ID, "idx_hotel_photos_hotel");
+        comparePlans("SELECT * FROM hotel_facilities WHERE hotel_id = " + FIRST_ID, "idx_hotel_facilities_hotel");
+        comparePlans("SELECT * FROM hotel_policies WHERE hotel_id = " + FIRST_ID, "idx_hotel_policies_hotel");
+        comparePlans("SELECT * FROM hotel_rooms WHERE hotel_id = " + FIRST_ID, "idx_hotel_rooms_hotel");
+    }
+
+    @Test
+    @TestTransaction
+    public void testReviewPagingUsesCompositeIndex() {
+        seedHotels();
+        seedChildren("hotel_reviews", "hotel_id, headline, created_at",
+                "p.id, 'Review ' || c, TIMESTAMP '2024-01-01' + c * INTERVAL '1 day'");
+
+        Plans plans = comparePlans("SELECT * FROM hotel_reviews WHERE hotel_id = " + FIRST_ID
+                + " ORDER BY created_at DESC, id DESC LIMIT 10", "idx_hotel_reviews_hotel_created");
+        // Rows come out of the index already ordered, on both sort keys
+        assertFalse(plans.withIndex.contains("Sort"), plans.withIndex);
+        assertTrue(plans.withoutIndex.contains("Sort"), plans.withoutIndex);
+    }
+
+    @Test
+    @TestTransaction
+    public void testTranslationLookupUsesCompositeIndex() {
+        seedHotels();
+        seedChildren("hotel_translations", "hotel_id, language",
+                "p.id, (ARRAY['fr', 'es', 'de', 'it', 'pt', 'nl', 'pl', 'sv', 'da', 'fi'])[c]");
+
+        comparePlans("SELECT * FROM hotel_translations WHERE hotel_id = " + FIRST_ID + " AND language = 'fr'",
+                "idx_hotel_translations_hotel_language");
+    }
+
+    @Test
+    @TestTransaction
+    public void testRoomChildLookupsUseRoomIdIndexes() {
+        seedHotels();
+        seedChildren("hotel_rooms", "id, hotel_id, room_name", "p.id * " + CHILDREN + " + c, p.id, 'Room ' || c");
+        long firstRoom = FIRST_ID * CHILDREN + 1;
+        seedRoomChildren("hotel_room_bed_types", "room_id, quantity, bed_type", "r.id, 1, 'Bed ' || c");
+        seedRoomChildren("hotel_room_amenities", "room_id, amenity_id, name", "r.id, c, 'Amenity ' || c");
+        seedRoomChildren("hotel_room_photos", "room_id, url", "r.id, 'https://example.com/' || c");
+        seedRoomChildren("hotel_room_views", "room_id, view_id, view", "r.id, c, 'View ' || c");
+
+        comparePlans("SELECT * FROM hotel_room_bed_types WHERE room_id = " + firstRoom, "idx_hotel_room_bed_types_room");
+        comparePlans("SELECT * FROM hotel_room_amenities WHERE room_id = " + firstRoom, "idx_hotel_room_amenities_room");
+        comparePlans("SELECT * FROM hotel_room_photos WHERE room_id = " + firstRoom, "idx_hotel_room_photos_room");
+        comparePlans("SELECT * FROM hotel_room_views WHERE room_id = " + firstRoom, "idx_hotel_room_views_room");
+    }
+
+    @Test
+    @TestTransaction
+    public void testHotelFiltersUseIndexes() {
+        seedHotels();
+
+        comparePlans("SELECT * FROM hotels WHERE rating >= 4.5", "idx_hotels_rating_id");
+        comparePlans("SELECT * FROM hotels WHERE stars >= 5", "idx_hotels_stars");
+        comparePlans("SELECT * FROM hotels WHERE LOWER(country_code) = LOWER('US')", "idx_hotels_country_code");
+    }
+
+    /**
+     * One hotel in 200 is a five-star US hotel rated 4.9; the others are three-star hotels rated
+     * below 4.5 in other countries.
+     */
+    private void seedHotels() {
+        entityManager.createNativeQuery("""
+                INSERT INTO hotels (id, cupid_id, name, city, country_code, stars, rating)
+                SELECT :first + i, :first + i, 'Plan Hotel ' || i, 'City ' || (i % 100),
+                       CASE WHEN i % 200 = 0 THEN 'US' ELSE chr(65 + i % 20) || chr(65 + i % 7) END,
+                       CASE WHEN i % 200 = 0 THEN 5 ELSE 3 END,
+                       CASE WHEN i % 200 = 0 THEN 4.9 ELSE 2 + (i % 250) / 100.0 END
+                FROM generate_series(0, :count - 1) AS i
+                """)
+                .setParameter("first", FIRST_ID)
+                .setParameter("count", HOTELS)
+                .executeUpdate();
+        analyze("hotels");
+    }
+
+    /**
+     * {@link #CHILDREN} rows for each of the first {@link #PARENTS} seeded hotels; {@code values}
+     * may refer to the hotel as {@code p} and to the child's number, from 1, as {@code c}.
+     */
+    private void seedChildren(String table, String columns, String values) {
+        entityManager.createNativeQuery("INSERT INTO " + table + " (" + columns + ") SELECT " + values
+                        + " FROM hotels p, generate_series(1, :children) AS c"
+                        + " WHERE p.id BETWEEN :first AND :first + :parents - 1")
+                .setParameter("children", CHILDREN)
+                .setParameter("first", FIRST_ID)
+                .setParameter("parents", PARENTS)
+                .executeUpdate();
+        analyze(table);
+    }
+
+    /**
+     * {@link #CHILDREN} rows for each seeded room; {@code values} may refer to the room as
+     * {@code r} and to the child's number as {@code c}.
+     */
+    private void seedRoomChildren(String table, String columns, String values) {
+        entityManager.createNativeQuery("INSERT INTO " + table + " (" + columns + ") SELECT " + values
+                        + " FROM hotel_rooms r, generate_series(1, :children) AS c WHERE r.hotel_id >= :first")
+                .setParameter("children", CHILDREN)
+                .setParameter("first", FIRST_ID)
+                .executeUpdate();
+        analyze(table);
+    }
+
+    private void analyze(String table) {
+        entityManager.createNativeQuery("ANALYZE " + table).executeUpdate();
+    }
+
+    private record Plans(String withIndex, String withoutIndex) {
+    }
+
+    /**
+     * Explain the query as is, which must use the index, and again once the index is dropped,
+     * which must scan the whole table instead.
+     */
+    private Plans comparePlans(String sql, String indexName) {
+        String withIndex = explain(sql);
+        LOG.infof("Plan with %s:%n%s", indexName, withIndex);
+        assertTrue(withIndex.contains(indexName), "Expected " + indexName + " in plan:\n" + withIndex);
+        assertFalse(withIndex.contains("Seq Scan"), withIndex);
+
+        entityManager.createNativeQuery("DROP INDEX " + indexName).executeUpdate();
+        String withoutIndex = explain(sql);
+        LOG.infof("Plan without %s:%n%s", indexName, withoutIndex);
+        assertTrue(withoutIndex.contains("Seq Scan"), withoutIndex);
+        return new Plans(withIndex, withoutIndex);
+    }
+
+    private String explain(String sql) {
+        @SuppressWarnings("unchecked")
+        List<Object> rows = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return rows.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+}
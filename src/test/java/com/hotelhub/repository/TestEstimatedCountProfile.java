@@ -0,0 +1,14 @@
+package com.hotelhub.repository;
+
+import java.util.Map;
+
+public class TestEstimatedCountProfile extends TestRepositoryProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> config = super.getConfigOverrides();
+        // Every planner estimate is above the threshold, so totals are never counted
+        config.put("hotel.count.exact-threshold", "0");
+        return config;
+    }
+}
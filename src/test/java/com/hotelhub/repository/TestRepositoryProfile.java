@@ -0,0 +1,24 @@
+package com.hotelhub.repository;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestRepositoryProfile implements QuarkusTestProfile {
+    
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> config = new HashMap<>();
+        // Isolated test containers - DevServices will manage database connection
+        config.put("quarkus.datasource.devservices.enabled", "true");
+        config.put("quarkus.datasource.devservices.reuse", "false");
+        config.put("quarkus.datasource.devservices.image-name", "postgres:15-alpine");
+        // Disable cache for clean test state
+        config.put("quarkus.cache.enabled", "false");
+        // Statement counts are asserted through Hibernate statistics
+        config.put("quarkus.hibernate-orm.statistics", "true");
+        // Mock API for tests
+        config.put("quarkus.rest-client.cupid-api.url", "http://localhost:8081");
+        return config;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.hotelhub.resource;
 
+import com.hotelhub.dto.HotelDto;
 import com.hotelhub.entity.Hotel;
 import com.hotelhub.service.HotelCoreService;
 import io.quarkus.test.junit.QuarkusTest;
@@ -15,7 +16,9 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @QuarkusTest
 @TestProfile(TestHotelProfile.class)
@@ -74,6 +77,55 @@ public class HotelResourceTest {
                 .body("totalElements", is(2));
     }
 
+    @Test
+    public void testGetAllHotelsWithCursor() {
+        String nextCursor = given()
+                .queryParam("size", 1)
+                .queryParam("cursor", "")
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(1))
+                .body("content[0].name", is("Test Hotel 1"))
+                .body("totalElements", is(-1))
+                .body("last", is(false))
+                .extract()
+                .jsonPath().getString("nextCursor");
+
+        given()
+                .queryParam("size", 1)
+                .queryParam("cursor", nextCursor)
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(1))
+                .body("content[0].name", is("Another Hotel"))
+                .body("nextCursor", nullValue())
+                .body("last", is(true));
+    }
+
+    @Test
+    public void testGetAllHotelsWithInvalidCursor() {
+        given()
+                .queryParam("cursor", "not-a-cursor")
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void testSearchHotelsWithCursor() {
+        given()
+                .queryParam("q", "Hotel")
+                .queryParam("size", 1)
+                .queryParam("cursor", "")
+                .when().get("/api/v1/hotels/search")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(1))
+                .body("nextCursor", notNullValue());
+    }
+
     @Test
     public void testGetAllHotelsWithCityFilter() {
         given()
@@ -114,6 +166,82 @@ public class HotelResourceTest {
                 .body("name", anyOf(is("Test Hotel 1"), is("Another Hotel")));
     }
 
+    @Test
+    public void testGetHotelByIdCompressedAndPlain() {
+        Long hotelId = given()
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath().getLong("content[0].id");
+
+        given()
+                .header("Accept-Encoding", "gzip")
+                .when().get("/api/v1/hotels/{id}", hotelId)
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .body("id", is(hotelId.intValue()));
+
+        given()
+                .header("Accept-Encoding", "identity")
+                .when().get("/api/v1/hotels/{id}", hotelId)
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .contentType("application/json")
+                .body("id", is(hotelId.intValue()));
+    }
+
+    @Test
+    public void testGetHotelByIdConditional() {
+        Long hotelId = given()
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath().getLong("content[0].id");
+
+        var first = given()
+                .header("Accept-Encoding", "identity")
+                .when().get("/api/v1/hotels/{id}", hotelId)
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Last-Modified", notNullValue())
+                .extract();
+        String etag = first.header("ETag");
+
+        given()
+                .header("Accept-Encoding", "identity")
+                .header("If-None-Match", etag)
+                .when().get("/api/v1/hotels/{id}", hotelId)
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+
+        given()
+                .header("Accept-Encoding", "identity")
+                .header("If-Modified-Since", first.header("Last-Modified"))
+                .when().get("/api/v1/hotels/{id}/photos", hotelId)
+                .then()
+                .statusCode(304);
+
+        // Any change to the hotel moves it to a new version
+        HotelDto update = hotelCoreService.getHotelById(hotelId).orElseThrow();
+        update.name = "Renamed Hotel";
+        hotelCoreService.updateHotel(hotelId, update);
+
+        given()
+                .header("Accept-Encoding", "identity")
+                .header("If-None-Match", etag)
+                .when().get("/api/v1/hotels/{id}", hotelId)
+                .then()
+                .statusCode(200)
+                .header("ETag", not(etag))
+                .body("name", is("Renamed Hotel"));
+    }
+
     @Test
     public void testGetHotelByIdNotFound() {
         given()
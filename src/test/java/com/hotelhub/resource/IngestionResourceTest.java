@@ -7,6 +7,7 @@ import com.hotelhub.service.HotelCoreService;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Uni;
 import io.restassured.http.ContentType;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -19,6 +20,11 @@ import java.util.Collections;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -78,50 +84,87 @@ public class IngestionResourceTest {
         esProperty.address.address = "Dirección Maqueta";
 
         // Setup mocks
-        Mockito.when(cupidApiClient.getPropertyById(anyLong())).thenReturn(propertyDto);
-        Mockito.when(cupidApiClient.getReviewsByPropertyId(anyLong())).thenReturn(reviewsList);
-        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguage(anyLong(), eq("fr"))).thenReturn(frProperty);
-        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguage(anyLong(), eq("es"))).thenReturn(esProperty);
+        Mockito.when(cupidApiClient.getPropertyByIdAsync(anyLong())).thenReturn(Uni.createFrom().item(propertyDto));
+        Mockito.when(cupidApiClient.getReviewsByPropertyIdAsync(anyLong())).thenReturn(Uni.createFrom().item(reviewsList));
+        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(anyLong(), eq("fr"))).thenReturn(Uni.createFrom().item(frProperty));
+        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(anyLong(), eq("es"))).thenReturn(Uni.createFrom().item(esProperty));
     }
 
     @Test
     void testIngestDataSuccess() {
-        given()
+        String jobId = given()
                 .contentType(ContentType.JSON)
                 .body(Collections.singletonList(123L))
                 .when().post("/api/v1/ingest")
                 .then()
-                .statusCode(200);
+                .statusCode(202)
+                .header("Location", containsString("/api/v1/ingest/"))
+                .body("jobId", notNullValue())
+                .body("total", is(1))
+                .extract().path("jobId");
+
+        awaitJobFinished(jobId);
+
+        given()
+                .when().get("/api/v1/ingest/" + jobId)
+                .then()
+                .statusCode(200)
+                .body("status", is("COMPLETED"))
+                .body("processed", is(1))
+                .body("successful", is(1))
+                .body("failed", is(0));
 
         // Verify hotel was created
         given()
                 .when().get("/api/v1/hotels")
                 .then()
-                .statusCode(200);
+                .statusCode(200)
+                .body("content", hasSize(1));
     }
 
     @Test
     void testIngestDataEmptyList() {
-        given()
+        String jobId = given()
                 .contentType(ContentType.JSON)
                 .body(Collections.emptyList())
                 .when().post("/api/v1/ingest")
                 .then()
-                .statusCode(200);
+                .statusCode(202)
+                .extract().path("jobId");
+
+        awaitJobFinished(jobId);
+
+        given()
+                .when().get("/api/v1/ingest/" + jobId)
+                .then()
+                .statusCode(200)
+                .body("status", is("COMPLETED"))
+                .body("processed", is(0));
     }
 
     @Test
     void testIngestDataWithApiFailure() {
         // Mock API failure
-        Mockito.when(cupidApiClient.getPropertyById(999L))
-                .thenThrow(new RuntimeException("API failure"));
+        Mockito.when(cupidApiClient.getPropertyByIdAsync(999L))
+                .thenReturn(Uni.createFrom().failure(new RuntimeException("API failure")));
 
-        given()
+        String jobId = given()
                 .contentType(ContentType.JSON)
                 .body(Collections.singletonList(999L))
                 .when().post("/api/v1/ingest")
                 .then()
-                .statusCode(200); // Should continue processing even with failures
+                .statusCode(202)
+                .extract().path("jobId");
+
+        awaitJobFinished(jobId);
+
+        // Should continue processing even with failures
+        given()
+                .when().get("/api/v1/ingest/" + jobId)
+                .then()
+                .statusCode(200)
+                .body("status", is("COMPLETED"))
+                .body("failed", is(1));
     }
 
     @Test
@@ -133,4 +176,66 @@ public class IngestionResourceTest {
                 .then()
                 .statusCode(400);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetUnknownJob() {
+        given()
+                .when().get("/api/v1/ingest/unknown-job")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void testCancelUnknownJob() {
+        given()
+                .when().delete("/api/v1/ingest/unknown-job")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void testCancelJob() {
+        String jobId = given()
+                .contentType(ContentType.JSON)
+                .body(List.of(123L, 124L, 125L))
+                .when().post("/api/v1/ingest")
+                .then()
+                .statusCode(202)
+                .extract().path("jobId");
+
+        given()
+                .when().delete("/api/v1/ingest/" + jobId)
+                .then()
+                .statusCode(200)
+                .body("jobId", is(jobId));
+
+        awaitJobFinished(jobId);
+
+        given()
+                .when().get("/api/v1/ingest/" + jobId)
+                .then()
+                .statusCode(200)
+                .body("status", anyOf(is("CANCELLED"), is("COMPLETED")));
+    }
+
+    private void awaitJobFinished(String jobId) {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (System.currentTimeMillis() < deadline) {
+            String status = given()
+                    .when().get("/api/v1/ingest/" + jobId)
+                    .then()
+                    .statusCode(200)
+                    .extract().path("status");
+            if (!"QUEUED".equals(status) && !"RUNNING".equals(status)) {
+                return;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("Ingestion job " + jobId + " did not finish in time");
+    }
+}
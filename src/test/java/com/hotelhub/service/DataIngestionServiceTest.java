@@ -12,6 +12,7 @@ import com.hotelhub.repository.HotelTranslationRepository;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +25,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -94,11 +96,11 @@ public class DataIngestionServiceTest {
         esProperty.address = new CupidPropertyDto.Address();
         esProperty.address.address = "123 Calle Maqueta";
 
-        // Mock API calls (now returning data directly)
-        Mockito.when(cupidApiClient.getPropertyById(123L)).thenReturn(propertyDto);
-        Mockito.when(cupidApiClient.getReviewsByPropertyId(123L)).thenReturn(reviewsList);
-        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguage(123L, "fr")).thenReturn(frProperty);
-        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguage(123L, "es")).thenReturn(esProperty);
+        // Mock async API calls
+        Mockito.when(cupidApiClient.getPropertyByIdAsync(123L)).thenReturn(Uni.createFrom().item(propertyDto));
+        Mockito.when(cupidApiClient.getReviewsByPropertyIdAsync(123L)).thenReturn(Uni.createFrom().item(reviewsList));
+        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(123L, "fr")).thenReturn(Uni.createFrom().item(frProperty));
+        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(123L, "es")).thenReturn(Uni.createFrom().item(esProperty));
     }
 
     @Test
@@ -169,12 +171,57 @@ public class DataIngestionServiceTest {
         assertEquals(BigDecimal.valueOf(4.0), hotel.rating); // Should be updated
     }
 
+    @Test
+    @Transactional
+    void testReingestKeepsUnchangedRows() {
+        List<Long> hotelIds = Collections.singletonList(123L);
+
+        dataIngestionService.ingestHotelData(hotelIds);
+        Hotel hotel = hotelRepository.findByCupidId(123L);
+        Long reviewId = hotelReviewRepository.findByHotel(hotel).get(0).id;
+
+        dataIngestionService.ingestHotelData(hotelIds);
+
+        // The review is matched on its Cupid ID and kept instead of being re-inserted
+        List<HotelReview> reviews = hotelReviewRepository.findByHotel(hotel);
+        assertEquals(1, reviews.size());
+        assertEquals(reviewId, reviews.get(0).id);
+    }
+
+    @Test
+    @Transactional
+    void testReingestSkipsUnchangedContent() {
+        List<Long> hotelIds = Collections.singletonList(123L);
+
+        dataIngestionService.ingestHotelData(hotelIds);
+        Hotel hotel = hotelRepository.findByCupidId(123L);
+        assertNotNull(hotel.propertyHash);
+        String propertyHash = hotel.propertyHash;
+
+        // A local edit survives a re-ingest of an identical payload
+        hotel.name = "Locally Edited";
+        dataIngestionService.ingestHotelData(hotelIds);
+        assertEquals("Locally Edited", hotelRepository.findByCupidId(123L).name);
+        assertEquals(propertyHash, hotel.propertyHash);
+
+        // A changed payload produces a new hash and is applied
+        CupidPropertyDto changed = new CupidPropertyDto();
+        changed.hotelId = 123L;
+        changed.hotelName = "Renamed Hotel";
+        Mockito.when(cupidApiClient.getPropertyByIdAsync(123L)).thenReturn(Uni.createFrom().item(changed));
+
+        dataIngestionService.ingestHotelData(hotelIds);
+        Hotel updated = hotelRepository.findByCupidId(123L);
+        assertEquals("Renamed Hotel", updated.name);
+        assertNotEquals(propertyHash, updated.propertyHash);
+    }
+
     @Test
     @Transactional
     void testIngestHotelDataWithApiFailure() {
         // Mock API failure
-        Mockito.when(cupidApiClient.getPropertyById(999L))
-                .thenThrow(new RuntimeException("API failure"));
+        Mockito.when(cupidApiClient.getPropertyByIdAsync(999L))
+                .thenReturn(Uni.createFrom().failure(new RuntimeException("API failure")));
 
         List<Long> hotelIds = List.of(123L, 999L); // One success, one failure
 
@@ -195,8 +242,8 @@ public class DataIngestionServiceTest {
     @Transactional
     void testIngestHotelDataWithTranslationFailure() {
         // Mock translation failure
-        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguage(123L, "fr"))
-                .thenThrow(new RuntimeException("Translation API failure"));
+        Mockito.when(cupidApiClient.getTranslationByPropertyIdAndLanguageAsync(123L, "fr"))
+                .thenReturn(Uni.createFrom().failure(new RuntimeException("Translation API failure")));
 
         List<Long> hotelIds = Collections.singletonList(123L);
 
@@ -0,0 +1,72 @@
+package com.hotelhub.service;
+
+import com.hotelhub.dto.PagedResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelInvertedIndexTest {
+
+    private HotelInvertedIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new HotelInvertedIndex();
+        index.put(new HotelInvertedIndex.Document(1L, 4.8)
+                .add("Luxury Resort", HotelInvertedIndex.WEIGHT_NAME)
+                .add("New York", HotelInvertedIndex.WEIGHT_CITY)
+                .add("Resort de Luxe", HotelInvertedIndex.WEIGHT_NAME));
+        index.put(new HotelInvertedIndex.Document(2L, 3.5)
+                .add("Budget Inn", HotelInvertedIndex.WEIGHT_NAME)
+                .add("Toronto", HotelInvertedIndex.WEIGHT_CITY)
+                .add("Close to the luxury district", HotelInvertedIndex.WEIGHT_TEXT));
+        index.put(new HotelInvertedIndex.Document(3L, 4.0)
+                .add("City Hotel", HotelInvertedIndex.WEIGHT_NAME)
+                .add("New York", HotelInvertedIndex.WEIGHT_CITY));
+    }
+
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        PagedResult<Long> result = index.search("luxury", 0, 10);
+        assertEquals(List.of(1L, 2L), result.content);
+        assertEquals(2, result.totalElements);
+    }
+
+    @Test
+    void testAllTermsMustMatchAsPrefixes() {
+        assertEquals(List.of(1L), index.search("lux new", 0, 10).content);
+        assertEquals(List.of(1L, 3L), index.search("NEW YORK", 0, 10).content);
+        assertTrue(index.search("luxury toronto new", 0, 10).content.isEmpty());
+    }
+
+    @Test
+    void testPaging() {
+        PagedResult<Long> first = index.search("new", 0, 1);
+        PagedResult<Long> second = index.search("new", 1, 1);
+        assertEquals(List.of(1L), first.content);
+        assertEquals(List.of(3L), second.content);
+        assertEquals(2, second.totalElements);
+    }
+
+    @Test
+    void testReplaceAndRemove() {
+        index.put(new HotelInvertedIndex.Document(3L, 4.0)
+                .add("Harbour Hotel", HotelInvertedIndex.WEIGHT_NAME)
+                .add("Boston", HotelInvertedIndex.WEIGHT_CITY));
+        assertEquals(List.of(1L), index.search("york", 0, 10).content);
+        assertEquals(List.of(3L), index.search("harbour", 0, 10).content);
+
+        index.remove(1L);
+        assertTrue(index.search("york", 0, 10).content.isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testPunctuationOnlyQueryMatchesNothing() {
+        assertTrue(index.search("&!?", 0, 10).content.isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.hotelhub.service;
+
+import com.hotelhub.cache.HotelReadCoalescer;
+import com.hotelhub.entity.Hotel;
+import com.hotelhub.entity.HotelReview;
+import com.hotelhub.repository.HotelDetailRepository;
+import com.hotelhub.repository.HotelFacilityRepository;
+import com.hotelhub.repository.HotelPhotoRepository;
+import com.hotelhub.repository.HotelRepository;
+import com.hotelhub.repository.HotelReviewRepository;
+import com.hotelhub.repository.HotelTranslationRepository;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Concurrent reads of one hotel through the services, with caching disabled: every read path
+ * must reach the database once, however many requests ask for it at the same time.
+ */
+@QuarkusTest
+@TestProfile(TestServiceProfile.class)
+public class HotelReadCoalescingTest {
+
+    // Half of them read the hotel, half its first review page
+    private static final int REQUESTS = 500;
+    private static final int READ_PATHS = 2;
+
+    @Inject
+    HotelCoreService hotelCoreService;
+
+    @Inject
+    HotelRetrievalService hotelRetrievalService;
+
+    @Inject
+    HotelReadCoalescer readCoalescer;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    HotelPhotoRepository hotelPhotoRepository;
+
+    @Inject
+    HotelFacilityRepository hotelFacilityRepository;
+
+    @Inject
+    HotelTranslationRepository hotelTranslationRepository;
+
+    @InjectSpy
+    HotelDetailRepository hotelDetailRepository;
+
+    @InjectSpy
+    HotelReviewRepository hotelReviewRepository;
+
+    private Long hotelId;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        hotelReviewRepository.deleteAll();
+        hotelPhotoRepository.deleteAll();
+        hotelFacilityRepository.deleteAll();
+        hotelTranslationRepository.deleteAll();
+        hotelRepository.deleteAll();
+
+        Hotel hotel = new Hotel();
+        hotel.cupidId = 13000L;
+        hotel.name = "Coalesced Hotel";
+        hotel.city = "Porto";
+        hotel.rating = BigDecimal.valueOf(4.0);
+        hotelRepository.persist(hotel);
+        hotelId = hotel.id;
+
+        HotelReview review = new HotelReview();
+        review.hotel = hotel;
+        review.cupidReviewId = "coalesced-review";
+        review.averageScore = BigDecimal.valueOf(4.0);
+        review.headline = "Busy";
+        hotelReviewRepository.persist(review);
+    }
+
+    @Test
+    public void testConcurrentReadsShareOneRepositoryCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Hold the first load of each read path until every other request has joined one
+        doAnswer(invocation -> {
+            release.await();
+            return invocation.callRealMethod();
+        }).when(hotelDetailRepository).findHotelDetail(anyLong());
+        doAnswer(invocation -> {
+            release.await();
+            return invocation.callRealMethod();
+        }).when(hotelReviewRepository).getHotelReviews(anyLong(), anyInt(), anyInt());
+
+        long joinedBefore = readCoalescer.joinedCount();
+        // Joining requests wait for the load, each on its own thread, as on a server
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(executor.submit(i % READ_PATHS == 0
+                        ? inRequestContext(() -> hotelCoreService.getHotelById(hotelId).orElseThrow().name)
+                        : inRequestContext(() -> hotelRetrievalService.getHotelReviews(hotelId, 0, 10).content.get(0).headline)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (readCoalescer.joinedCount() - joinedBefore < REQUESTS - READ_PATHS) {
+                assertTrue(System.nanoTime() < deadline, "requests did not join the loads in flight");
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (int i = 0; i < REQUESTS; i++) {
+                assertEquals(i % READ_PATHS == 0 ? "Coalesced Hotel" : "Busy", results.get(i).get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        verify(hotelDetailRepository, times(1)).findHotelDetail(hotelId);
+        verify(hotelReviewRepository, times(1)).getHotelReviews(hotelId, 0, 10);
+    }
+
+    /**
+     * The read in its own request context, like a REST call.
+     */
+    private static Callable<Object> inRequestContext(Callable<Object> read) {
+        return () -> {
+            ManagedContext requestContext = Arc.container().requestContext();
+            requestContext.activate();
+            try {
+                return read.call();
+            } finally {
+                requestContext.terminate();
+            }
+        };
+    }
+}
@@ -10,6 +10,7 @@ import com.hotelhub.repository.HotelPhotoRepository;
 import com.hotelhub.repository.HotelRepository;
 import com.hotelhub.repository.HotelReviewRepository;
 import com.hotelhub.repository.HotelTranslationRepository;
+import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import jakarta.inject.Inject;
@@ -18,6 +19,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -144,6 +147,85 @@ public class HotelServiceTest {
         assertEquals("Test Hotel", result.content.get(0).name);
     }
 
+    @Test
+    public void testSearchHotelsMatchesPrefixAndTranslations() {
+        assertEquals(1, hotelSearchService.searchHotels("Tes", 0, 10).content.size());
+        // French description, matched through the French stemmer
+        assertEquals(1, hotelSearchService.searchHotels("français", 0, 10).content.size());
+        // Punctuation is ignored instead of breaking the query
+        assertEquals(1, hotelSearchService.searchHotels("test & (hotel", 0, 10).content.size());
+    }
+
+    @Test
+    public void testSearchHotelsTypoFallback() {
+        var result = hotelSearchService.searchHotels("Tst Hotel", 0, 10);
+        assertEquals(1, result.content.size());
+        assertEquals("Test Hotel", result.content.get(0).name);
+    }
+
+    @Test
+    @TestTransaction
+    public void testSearchCursorFollowsOffsetOrder() {
+        // Same text, so equal scores: rating decides, missing ratings last
+        BigDecimal[] ratings = {BigDecimal.valueOf(3.0), null, BigDecimal.valueOf(5.0), BigDecimal.valueOf(3.0)};
+        for (int i = 0; i < ratings.length; i++) {
+            Hotel twin = new Hotel();
+            twin.cupidId = 12400L + i;
+            twin.name = "Twin Lodge";
+            twin.city = "Twin Town";
+            twin.rating = ratings[i];
+            hotelRepository.persist(twin);
+        }
+
+        List<Long> offsetOrder = new ArrayList<>();
+        List<Long> cursorOrder = new ArrayList<>();
+        String cursor = "";
+        for (int page = 0; page < ratings.length; page++) {
+            hotelSearchService.searchHotels("Twin", page, 1).content.forEach(h -> offsetOrder.add(h.cupidId));
+            var result = hotelSearchService.searchHotelsAfter("Twin", cursor, 1);
+            result.content.forEach(h -> cursorOrder.add(h.cupidId));
+            cursor = result.nextCursor;
+            if (cursor == null) {
+                break;
+            }
+        }
+
+        assertEquals(List.of(12402L, 12400L, 12403L, 12401L), offsetOrder);
+        assertEquals(offsetOrder, cursorOrder);
+    }
+
+    @Test
+    @TestTransaction
+    public void testListingCursorFollowsOffsetOrder() {
+        BigDecimal[] ratings = {null, BigDecimal.valueOf(3.0), BigDecimal.valueOf(5.0), BigDecimal.valueOf(3.0)};
+        for (int i = 0; i < ratings.length; i++) {
+            Hotel hotel = new Hotel();
+            hotel.cupidId = 12500L + i;
+            hotel.name = "Listed Hotel " + i;
+            hotel.city = "Listing Town";
+            hotel.rating = ratings[i];
+            hotelRepository.persist(hotel);
+        }
+
+        List<Long> offsetOrder = new ArrayList<>();
+        List<Long> cursorOrder = new ArrayList<>();
+        String cursor = "";
+        for (int page = 0; page < ratings.length; page++) {
+            hotelSearchService.getHotelsWithFilters(page, 1, "Listing Town", null, null, null, null, null)
+                    .content.forEach(h -> offsetOrder.add(h.cupidId));
+            var result = hotelSearchService.getHotelsWithFiltersAfter(cursor, 1, "Listing Town", null, null, null, null, null);
+            result.content.forEach(h -> cursorOrder.add(h.cupidId));
+            cursor = result.nextCursor;
+            if (cursor == null) {
+                break;
+            }
+        }
+
+        // Unrated hotels last, ties by id
+        assertEquals(List.of(12502L, 12501L, 12503L, 12500L), offsetOrder);
+        assertEquals(offsetOrder, cursorOrder);
+    }
+
     @Test
     public void testSearchHotelsEmpty() {
         var result = hotelSearchService.searchHotels("NonExistent", 0, 10);